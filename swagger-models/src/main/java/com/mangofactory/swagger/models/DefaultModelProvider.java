@@ -2,7 +2,10 @@ package com.mangofactory.swagger.models;
 
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
+import com.google.common.base.Objects;
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
 import com.mangofactory.swagger.models.property.provider.ModelPropertiesProvider;
 import com.wordnik.swagger.annotations.ApiModel;
@@ -26,9 +29,18 @@ import static com.mangofactory.swagger.models.ScalaConverters.*;
 import static com.mangofactory.swagger.models.Types.*;
 import static scala.collection.JavaConversions.*;
 
-
+/**
+ * Models are built once per type, direction and set of alternate type rules and cached, as the same DTO is typically
+ * returned or accepted by many handler methods. The provider is shared by every swagger group of the application and
+ * so is the cache, which is bounded and safe to read from concurrent scans.
+ */
 @Component
 public class DefaultModelProvider implements ModelProvider {
+  public static final int MAXIMUM_CACHED_MODELS = 10000;
+
+  private final Cache<ModelKey, Optional<Model>> models = CacheBuilder.newBuilder()
+          .maximumSize(MAXIMUM_CACHED_MODELS)
+          .build();
   private final TypeResolver resolver;
   private final AlternateTypeProvider alternateTypeProvider;
   private final ModelPropertiesProvider propertiesProvider;
@@ -46,7 +58,18 @@ public class DefaultModelProvider implements ModelProvider {
 
   @Override
   public com.google.common.base.Optional<Model> modelFor(ModelContext modelContext) {
-    ResolvedType propertiesHost = alternateTypeProvider.alternateFor(modelContext.resolvedType(resolver));
+    ModelKey key = new ModelKey(modelContext.resolvedType(resolver), modelContext.isReturnType(),
+            alternateTypeProvider.getRuleSetVersion());
+    Optional<Model> model = models.getIfPresent(key);
+    if (null == model) {
+      model = buildModel(modelContext, key.type);
+      models.put(new ModelKey(canonicalType(key.type), key.returnType, key.ruleSetVersion), model);
+    }
+    return model;
+  }
+
+  private Optional<Model> buildModel(ModelContext modelContext, ResolvedType type) {
+    ResolvedType propertiesHost = alternateTypeProvider.alternateFor(type);
     if (isContainerType(propertiesHost)
             || propertiesHost.getErasedType().isEnum()
             || Types.isBaseType(Types.typeNameFor(propertiesHost.getErasedType()))) {
@@ -125,4 +148,39 @@ public class DefaultModelProvider implements ModelProvider {
   private String id(Type type) {
     return asResolved(resolver, type).getErasedType().getSimpleName();
   }
+
+  /**
+   * Properties differ by direction, e.g. a property with a getter only is serialized but not deserialized, and any
+   * type may be substituted by a rule added since the model was built
+   */
+  private static class ModelKey {
+    private final ResolvedType type;
+    private final boolean returnType;
+    private final int ruleSetVersion;
+
+    ModelKey(ResolvedType type, boolean returnType, int ruleSetVersion) {
+      this.type = type;
+      this.returnType = returnType;
+      this.ruleSetVersion = ruleSetVersion;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof ModelKey)) {
+        return false;
+      }
+      ModelKey other = (ModelKey) obj;
+      return returnType == other.returnType
+              && ruleSetVersion == other.ruleSetVersion
+              && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(type, returnType, ruleSetVersion);
+    }
+  }
 }
@@ -4,27 +4,28 @@ import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 
 import java.lang.reflect.Type;
-import java.util.Set;
 
-import static com.google.common.collect.Sets.*;
 import static com.mangofactory.swagger.models.ResolvedTypes.*;
 
 public class ModelContext {
   private final ModelContext parentContext;
   private final Type type;
   private final boolean returnType;
-  private Set<ResolvedType> seenTypes = newHashSet();
+  private final SeenTypes ignorableTypes;
+  private SeenTypes seenTypes;
 
-  ModelContext(Type type, boolean returnType) {
+  ModelContext(Type type, boolean returnType, SeenTypes ignorableTypes) {
     this.parentContext = null;
     this.type = type;
     this.returnType = returnType;
+    this.ignorableTypes = ignorableTypes;
   }
 
   ModelContext(ModelContext parentContext, ResolvedType input) {
     this.parentContext = parentContext;
     this.type = input;
     this.returnType = parentContext.isReturnType();
+    this.ignorableTypes = parentContext.ignorableTypes;
   }
 
   public Type getType() {
@@ -40,11 +41,26 @@ public class ModelContext {
   }
 
   public static ModelContext inputParam(Type type) {
-    return new ModelContext(type, false);
+    return inputParam(type, new SeenTypes());
+  }
+
+  /**
+   * @param ignorableTypes types that are never modelled, seen by every context of the model. They are only read, so
+   *                       they can be built once and shared by all the models of a swagger group
+   */
+  public static ModelContext inputParam(Type type, SeenTypes ignorableTypes) {
+    return new ModelContext(type, false, ignorableTypes);
   }
 
   public static ModelContext returnValue(Type type) {
-    return new ModelContext(type, true);
+    return returnValue(type, new SeenTypes());
+  }
+
+  /**
+   * @see #inputParam(java.lang.reflect.Type, SeenTypes)
+   */
+  public static ModelContext returnValue(Type type, SeenTypes ignorableTypes) {
+    return new ModelContext(type, true, ignorableTypes);
   }
 
   public static ModelContext fromParent(ModelContext context, ResolvedType input) {
@@ -52,20 +68,18 @@ public class ModelContext {
   }
 
   public boolean hasSeenBefore(ResolvedType resolvedType) {
-    return seenTypes.contains(resolvedType)
-            || seenTypes.contains(asResolved(new TypeResolver(), resolvedType.getErasedType())) // DK TODO : fix
-            // alternate types
-            || parentHasSeenBefore(resolvedType);
-  }
-
-  private boolean parentHasSeenBefore(ResolvedType resolvedType) {
-    if (parentContext == null) {
-      return false;
+    for (ModelContext context = this; context != null; context = context.parentContext) {
+      if (context.seenTypes != null && context.seenTypes.hasSeen(resolvedType)) {
+        return true;
+      }
     }
-    return parentContext.hasSeenBefore(resolvedType);
+    return ignorableTypes.hasSeen(resolvedType);
   }
 
   public void seen(ResolvedType resolvedType) {
-    seenTypes.add(resolvedType);
+    if (seenTypes == null) {
+      seenTypes = new SeenTypes();
+    }
+    seenTypes.seen(resolvedType);
   }
 }
@@ -32,10 +32,16 @@ public class ModelDependencyProvider {
     this.propertiesProvider = propertiesProvider;
   }
 
+  /**
+   * Walks the graph of types reachable from the model once: every type expanded along the way is recorded in a single set
+   * and never expanded again. The model itself and the types the context has seen are not dependencies.
+   */
   public Set<ResolvedType> dependentModels(ModelContext modelContext) {
+    SeenTypes modelType = new SeenTypes();
+    modelType.seen(alternateTypeProvider.alternateFor(modelContext.resolvedType(typeResolver)));
     return FluentIterable
-            .from(resolvedDependencies(modelContext))
-            .filter(ignorableTypes(modelContext))
+            .from(resolvedDependencies(modelContext, new SeenDependencies(modelContext)))
+            .filter(ignorableTypes(modelContext, modelType))
             .filter(baseTypes())
             .toSet();
   }
@@ -49,41 +55,43 @@ public class ModelDependencyProvider {
     };
   }
 
-  private Predicate<ResolvedType> ignorableTypes(final ModelContext modelContext) {
+  private Predicate<ResolvedType> ignorableTypes(final ModelContext modelContext, final SeenTypes modelType) {
     return new Predicate<ResolvedType>() {
       @Override
       public boolean apply(ResolvedType input) {
-        return !modelContext.hasSeenBefore(input);
+        return !modelType.hasSeen(input) && !modelContext.hasSeenBefore(input);
       }
     };
   }
 
 
-  private List<ResolvedType> resolvedDependencies(ModelContext modelContext) {
+  private List<ResolvedType> resolvedDependencies(ModelContext modelContext, SeenDependencies seenDependencies) {
     ResolvedType resolvedType = alternateTypeProvider.alternateFor(modelContext.resolvedType(typeResolver));
     if (Types.isBaseType(typeName(resolvedType))) {
-      modelContext.seen(resolvedType);
       return newArrayList();
     }
-    List<ResolvedType> dependencies = newArrayList(resolvedTypeParameters(modelContext, resolvedType));
-    dependencies.addAll(resolvedPropertiesAndFields(modelContext, resolvedType));
+    List<ResolvedType> dependencies
+            = newArrayList(resolvedTypeParameters(modelContext, resolvedType, seenDependencies));
+    dependencies.addAll(resolvedPropertiesAndFields(modelContext, resolvedType, seenDependencies));
     return dependencies;
   }
 
-  private List<? extends ResolvedType> resolvedTypeParameters(ModelContext modelContext, ResolvedType resolvedType) {
+  private List<? extends ResolvedType> resolvedTypeParameters(ModelContext modelContext, ResolvedType resolvedType,
+      SeenDependencies seenDependencies) {
     List<ResolvedType> parameters = newArrayList();
     for (ResolvedType parameter : resolvedType.getTypeParameters()) {
       parameters.add(alternateTypeProvider.alternateFor(parameter));
-      parameters.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, parameter)));
+      parameters.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, parameter), seenDependencies));
     }
     return parameters;
   }
 
-  private List<ResolvedType> resolvedPropertiesAndFields(ModelContext modelContext, ResolvedType resolvedType) {
-    if (modelContext.hasSeenBefore(resolvedType)) {
+  private List<ResolvedType> resolvedPropertiesAndFields(ModelContext modelContext, ResolvedType resolvedType,
+      SeenDependencies seenDependencies) {
+    if (seenDependencies.hasSeen(resolvedType)) {
       return newArrayList();
     }
-    modelContext.seen(resolvedType);
+    seenDependencies.seen(resolvedType);
     List<ResolvedType> properties = newArrayList();
     for (ModelProperty property : propertiesFor(modelContext, resolvedType)) {
       if (Types.typeNameFor(property.getType().getErasedType()) != null) {
@@ -99,11 +107,13 @@ public class ModelDependencyProvider {
           if (!Types.isBaseType(typeName(collectionElementType))) {
             properties.add(collectionElementType);
           }
-          properties.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, collectionElementType)));
+          properties.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, collectionElementType),
+              seenDependencies));
         }
         continue;
       }
-      properties.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, property.getType())));
+      properties.addAll(resolvedDependencies(ModelContext.fromParent(modelContext, property.getType()),
+              seenDependencies));
     }
     return properties;
   }
@@ -116,5 +126,24 @@ public class ModelDependencyProvider {
     }
   }
 
+  /**
+   * The types expanded while walking the dependencies of a model, on top of the types seen by the model's context.
+   * Contexts of the walk share the set, so a type is looked up once whatever its depth in the graph
+   */
+  private static class SeenDependencies {
+    private final ModelContext modelContext;
+    private final SeenTypes seenTypes = new SeenTypes();
 
+    SeenDependencies(ModelContext modelContext) {
+      this.modelContext = modelContext;
+    }
+
+    boolean hasSeen(ResolvedType type) {
+      return seenTypes.hasSeen(type) || modelContext.hasSeenBefore(type);
+    }
+
+    void seen(ResolvedType type) {
+      seenTypes.seen(type);
+    }
+  }
 }
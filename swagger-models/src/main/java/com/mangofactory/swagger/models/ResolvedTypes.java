@@ -6,6 +6,10 @@ import com.fasterxml.classmate.types.ResolvedObjectType;
 import com.fasterxml.classmate.types.ResolvedPrimitiveType;
 import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.wordnik.swagger.model.AllowableListValues;
 import com.wordnik.swagger.model.AllowableValues;
 import scala.collection.JavaConversions;
@@ -19,21 +23,67 @@ import static com.google.common.collect.Lists.*;
 import static com.mangofactory.swagger.models.Collections.*;
 import static com.mangofactory.swagger.models.Types.*;
 
+/**
+ * Type names are rendered once per type and kind of name, and interned so that models, their properties and
+ * parameters share a single instance of every name. The name caches are bounded, like the other type-keyed caches.
+ */
 public class ResolvedTypes {
+  public static final int MAXIMUM_CACHED_TYPE_NAMES = 10000;
+
+  private static final Interner<ResolvedType> CANONICAL_TYPES = Interners.newWeakInterner();
+  private static final Interner<String> TYPE_NAME_INSTANCES = Interners.newWeakInterner();
+  private static final Cache<ResolvedType, String> TYPE_NAMES = typeNameCache();
+  private static final Cache<ResolvedType, String> RESPONSE_TYPE_NAMES = typeNameCache();
+  private static final Cache<ResolvedType, String> GENERIC_TYPE_NAMES = typeNameCache();
+  private static final Cache<ResolvedType, String> QUALIFIED_TYPE_NAMES = typeNameCache();
 
   private ResolvedTypes() {
     throw new UnsupportedOperationException();
   }
 
+  private static Cache<ResolvedType, String> typeNameCache() {
+    return CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_TYPE_NAMES)
+            .build();
+  }
+
   public static String typeName(ResolvedType type) {
+    String typeName = TYPE_NAMES.getIfPresent(type);
+    if (null == typeName) {
+      typeName = rememberName(TYPE_NAMES, type, renderTypeName(type));
+    }
+    return typeName;
+  }
+
+  //DK TODO: Eliminate this repetition
+  public static String responseTypeName(ResolvedType type) {
+    String typeName = RESPONSE_TYPE_NAMES.getIfPresent(type);
+    if (null == typeName) {
+      typeName = rememberName(RESPONSE_TYPE_NAMES, type, renderResponseTypeName(type));
+    }
+    return typeName;
+  }
+
+  /**
+   * Types without a name, such as void, are not cached
+   */
+  private static String rememberName(Cache<ResolvedType, String> typeNames, ResolvedType type, String typeName) {
+    if (null == typeName) {
+      return null;
+    }
+    String typeNameInstance = TYPE_NAME_INSTANCES.intern(typeName);
+    typeNames.put(type, typeNameInstance);
+    return typeNameInstance;
+  }
+
+  private static String renderTypeName(ResolvedType type) {
     if (isContainerType(type)) {
       return containerType(type);
     }
     return innerTypeName(type);
   }
 
-  //DK TODO: Eliminate this repetition
-  public static String responseTypeName(ResolvedType type) {
+  private static String renderResponseTypeName(ResolvedType type) {
     if (isContainerType(type)) {
       return String.format("%s%s", containerType(type), optionalContainerTypeQualifierForReturn(type));
     }
@@ -67,6 +117,14 @@ public class ResolvedTypes {
   }
 
   public static String genericTypeName(ResolvedType resolvedType) {
+    String typeName = GENERIC_TYPE_NAMES.getIfPresent(resolvedType);
+    if (null == typeName) {
+      typeName = rememberName(GENERIC_TYPE_NAMES, resolvedType, renderGenericTypeName(resolvedType));
+    }
+    return typeName;
+  }
+
+  private static String renderGenericTypeName(ResolvedType resolvedType) {
     Class<?> erasedType = resolvedType.getErasedType();
     String simpleName = Optional
             .fromNullable(typeNameFor(erasedType))
@@ -87,6 +145,14 @@ public class ResolvedTypes {
   }
 
   public static String simpleQualifiedTypeName(ResolvedType type) {
+    String typeName = QUALIFIED_TYPE_NAMES.getIfPresent(type);
+    if (null == typeName) {
+      typeName = rememberName(QUALIFIED_TYPE_NAMES, type, renderSimpleQualifiedTypeName(type));
+    }
+    return typeName;
+  }
+
+  private static String renderSimpleQualifiedTypeName(ResolvedType type) {
     if (type instanceof ResolvedPrimitiveType) {
       Type primitiveType = type.getErasedType();
       return typeNameFor(primitiveType);
@@ -111,6 +177,18 @@ public class ResolvedTypes {
   }
 
 
+  /**
+   * Hash-conses resolved types: every equal type, however and by whichever type resolver it was resolved, maps to the
+   * same instance. The model, member and alternate type caches keep canonical types so that equal types are held once
+   * and compare by reference. The interner itself only holds types weakly: a canonical type lives as long as one of
+   * those caches, which are bounded and belong to the application context, holds it.
+   *
+   * @return the canonical instance of the type
+   */
+  public static ResolvedType canonicalType(ResolvedType type) {
+    return CANONICAL_TYPES.intern(type);
+  }
+
   public static ResolvedType asResolved(TypeResolver typeResolver, Type type) {
     if (type instanceof ResolvedType) {
       return (ResolvedType) type;
@@ -0,0 +1,46 @@
+package com.mangofactory.swagger.models;
+
+import com.fasterxml.classmate.ResolvedType;
+
+import java.util.Set;
+
+import static com.google.common.collect.Sets.*;
+
+/**
+ * The types already accounted for while building models. A type counts as seen when it, or the raw type it erases
+ * to, has been seen. Raw types are recorded by their class, so looking a type up neither resolves nor allocates.
+ */
+public class SeenTypes {
+  private final Set<ResolvedType> types = newHashSet();
+  private final Set<Class<?>> rawTypes = newHashSet();
+
+  /**
+   * @return the raw types of the given classes, e.g. the ignorable parameter types of a swagger group
+   */
+  public static SeenTypes rawTypes(Iterable<? extends Class> classes) {
+    SeenTypes seenTypes = new SeenTypes();
+    for (Class each : classes) {
+      seenTypes.rawTypes.add(each);
+    }
+    return seenTypes;
+  }
+
+  public boolean hasSeen(ResolvedType type) {
+    return rawTypes.contains(type.getErasedType()) || types.contains(type);
+  }
+
+  public void seen(ResolvedType type) {
+    if (isRaw(type)) {
+      rawTypes.add(type.getErasedType());
+    } else {
+      types.add(type);
+    }
+  }
+
+  private static boolean isRaw(ResolvedType type) {
+    if (type.isArray()) {
+      return isRaw(type.getArrayElementType());
+    }
+    return type.getTypeParameters().isEmpty();
+  }
+}
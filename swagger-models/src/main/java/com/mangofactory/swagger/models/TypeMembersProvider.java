@@ -0,0 +1,89 @@
+package com.mangofactory.swagger.models;
+
+import com.fasterxml.classmate.MemberResolver;
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.ResolvedTypeWithMembers;
+import com.fasterxml.classmate.TypeResolver;
+import com.fasterxml.classmate.members.ResolvedField;
+import com.fasterxml.classmate.members.ResolvedMethod;
+import com.google.common.base.Function;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static com.mangofactory.swagger.models.ResolvedTypes.*;
+
+/**
+ * The members of types as resolved by classmate, shared by the accessors and fields of models and the handler methods
+ * of controllers. Resolving members walks the whole type hierarchy, so every type is resolved once and its member
+ * methods are indexed by name for overload lookups.
+ */
+@Component
+public class TypeMembersProvider {
+  public static final int MAXIMUM_CACHED_TYPES = 10000;
+
+  private final Cache<ResolvedType, TypeMembers> members = CacheBuilder.newBuilder()
+          .maximumSize(MAXIMUM_CACHED_TYPES)
+          .build();
+  private final TypeResolver typeResolver;
+
+  @Autowired
+  public TypeMembersProvider(TypeResolver typeResolver) {
+    this.typeResolver = typeResolver;
+  }
+
+  /**
+   * @return the member methods of the type and its super types, java.lang.Object's excluded
+   */
+  public List<ResolvedMethod> memberMethods(ResolvedType type) {
+    return membersOf(type).methods;
+  }
+
+  /**
+   * @return the member methods of the given name, i.e. the overloads of a method
+   */
+  public List<ResolvedMethod> memberMethods(ResolvedType type, String methodName) {
+    return membersOf(type).methodsByName.get(methodName);
+  }
+
+  public List<ResolvedField> memberFields(ResolvedType type) {
+    return membersOf(type).fields;
+  }
+
+  private TypeMembers membersOf(ResolvedType type) {
+    TypeMembers typeMembers = members.getIfPresent(type);
+    if (null == typeMembers) {
+      MemberResolver resolver = new MemberResolver(typeResolver);
+      resolver.setIncludeLangObject(false);
+      typeMembers = new TypeMembers(resolver.resolve(type, null, null));
+      members.put(canonicalType(type), typeMembers);
+    }
+    return typeMembers;
+  }
+
+  /**
+   * Copied out of the ResolvedTypeWithMembers, which resolves its members lazily and is not safe to share
+   */
+  private static class TypeMembers {
+    private final ImmutableList<ResolvedMethod> methods;
+    private final ImmutableListMultimap<String, ResolvedMethod> methodsByName;
+    private final ImmutableList<ResolvedField> fields;
+
+    TypeMembers(ResolvedTypeWithMembers typeWithMembers) {
+      this.methods = ImmutableList.copyOf(typeWithMembers.getMemberMethods());
+      this.methodsByName = Multimaps.index(methods, new Function<ResolvedMethod, String>() {
+        @Override
+        public String apply(ResolvedMethod input) {
+          return input.getName();
+        }
+      });
+      this.fields = ImmutableList.copyOf(typeWithMembers.getMemberFields());
+    }
+  }
+}
@@ -1,37 +1,79 @@
 package com.mangofactory.swagger.models.alternates;
 
 import com.fasterxml.classmate.ResolvedType;
-import com.google.common.base.Optional;
-import com.google.common.base.Predicate;
-import com.google.common.collect.FluentIterable;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableListMultimap;
 
 import java.util.List;
 
 import static com.google.common.collect.Lists.*;
+import static com.mangofactory.swagger.models.ResolvedTypes.*;
 
 
+/**
+ * Shared by every swagger plugin. Plugins add their rules while being built and look types up while scanning, which
+ * may happen on several threads at once.
+ *
+ * Rules are compiled into an immutable rule set: rules are indexed by the erased type they apply to, and the alternate
+ * of every type looked up is memoized. Adding a rule compiles and publishes a new rule set, so lookups never lock and
+ * never see a partially built rule set. Rules still apply in the order they were added. Memoized types and their
+ * alternates are canonical, so equal types looked up again compare by reference.
+ */
 public class AlternateTypeProvider {
-  private List<AlternateTypeRule> rules = newArrayList();
+  public static final int MAXIMUM_CACHED_ALTERNATES = 10000;
+
+  private final List<AlternateTypeRule> rules = newArrayList();
+  private volatile CompiledRules compiledRules = new CompiledRules(rules, 0);
 
   public ResolvedType alternateFor(ResolvedType type) {
-    Optional<AlternateTypeRule> matchingRule = FluentIterable.from(rules)
-            .firstMatch(thatAppliesTo(type));
-    if (matchingRule.isPresent()) {
-      return matchingRule.get().alternateFor(type);
-    }
-    return type;
+    return compiledRules.alternateFor(type);
   }
 
-  private Predicate<AlternateTypeRule> thatAppliesTo(final ResolvedType type) {
-    return new Predicate<AlternateTypeRule>() {
-      @Override
-      public boolean apply(AlternateTypeRule input) {
-        return input.appliesTo(type);
-      }
-    };
+  public synchronized void addRule(AlternateTypeRule rule) {
+    rules.add(rule);
+    compiledRules = new CompiledRules(rules, compiledRules.version + 1);
   }
 
-  public void addRule(AlternateTypeRule rule) {
-    rules.add(rule);
+  /**
+   * @return a number that changes whenever a rule is added, to key caches of anything built from alternate types
+   */
+  public int getRuleSetVersion() {
+    return compiledRules.version;
+  }
+
+  private static class CompiledRules {
+    private final ImmutableListMultimap<Class<?>, AlternateTypeRule> rulesByErasedType;
+    private final Cache<ResolvedType, ResolvedType> alternates = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_ALTERNATES)
+            .build();
+    private final int version;
+
+    CompiledRules(List<AlternateTypeRule> rules, int version) {
+      ImmutableListMultimap.Builder<Class<?>, AlternateTypeRule> builder = ImmutableListMultimap.builder();
+      for (AlternateTypeRule rule : rules) {
+        builder.put(rule.getOriginal().getErasedType(), rule);
+      }
+      this.rulesByErasedType = builder.build();
+      this.version = version;
+    }
+
+    ResolvedType alternateFor(ResolvedType type) {
+      ResolvedType alternate = alternates.getIfPresent(type);
+      if (null == alternate) {
+        alternate = canonicalType(firstMatchingAlternate(type));
+        alternates.put(canonicalType(type), alternate);
+      }
+      return alternate;
+    }
+
+    private ResolvedType firstMatchingAlternate(ResolvedType type) {
+      for (AlternateTypeRule rule : rulesByErasedType.get(type.getErasedType())) {
+        if (rule.appliesTo(type)) {
+          return rule.alternateFor(type);
+        }
+      }
+      return type;
+    }
   }
 }
@@ -46,4 +46,15 @@ public class AlternateTypeRule {
     return (hasWildcards(original) && wildcardMatch(type, original)) || exactMatch(original, type);
   }
 
+  /**
+   * Rules only apply to types of the same erased type as their original type, which is what they are indexed by
+   */
+  ResolvedType getOriginal() {
+    return original;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s -> %s", original.getBriefDescription(), alternate.getBriefDescription());
+  }
 }
@@ -0,0 +1,99 @@
+package com.mangofactory.swagger.models.property;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.cfg.MapperConfig;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+import static com.google.common.collect.Maps.*;
+import static com.mangofactory.swagger.models.property.BeanPropertyDefinitions.*;
+
+/**
+ * Jackson's view of the properties of a type, shared by the field, bean and constructor property providers so that a
+ * type is introspected once per direction rather than once per provider and per model built from it.
+ *
+ * Introspections are cached per mapper config. Jackson configs are immutable and reconfiguring an ObjectMapper
+ * replaces them, so properties introspected before the mapper was reconfigured are never served afterwards.
+ */
+@Component
+public class BeanDescriptionProvider {
+  public static final int MAXIMUM_CACHED_DESCRIPTIONS = 10000;
+
+  private final Cache<DescriptionKey, Map<String, BeanPropertyDefinition>> descriptions = CacheBuilder.newBuilder()
+          .maximumSize(MAXIMUM_CACHED_DESCRIPTIONS)
+          .build();
+
+  /**
+   * @return the properties Jackson serializes, keyed by internal name
+   */
+  public Map<String, BeanPropertyDefinition> propertiesForSerialization(ObjectMapper objectMapper,
+      ResolvedType type) {
+    return properties(objectMapper.getSerializationConfig(), type.getErasedType());
+  }
+
+  /**
+   * @return the properties Jackson deserializes, keyed by internal name
+   */
+  public Map<String, BeanPropertyDefinition> propertiesForDeserialization(ObjectMapper objectMapper,
+      ResolvedType type) {
+    return properties(objectMapper.getDeserializationConfig(), type.getErasedType());
+  }
+
+  private Map<String, BeanPropertyDefinition> properties(MapperConfig<?> config, Class<?> type) {
+    DescriptionKey key = new DescriptionKey(config, type);
+    Map<String, BeanPropertyDefinition> properties = descriptions.getIfPresent(key);
+    if (null == properties) {
+      properties = uniqueIndex(introspect(config, type).findProperties(), beanPropertyByInternalName());
+      descriptions.put(key, properties);
+    }
+    return properties;
+  }
+
+  private BeanDescription introspect(MapperConfig<?> config, Class<?> type) {
+    JavaType javaType = TypeFactory.defaultInstance().constructType(type);
+    if (config instanceof SerializationConfig) {
+      return ((SerializationConfig) config).introspect(javaType);
+    }
+    return ((DeserializationConfig) config).introspect(javaType);
+  }
+
+  /**
+   * Mapper configs are compared by identity, they do not implement equals
+   */
+  private static class DescriptionKey {
+    private final MapperConfig<?> config;
+    private final Class<?> type;
+
+    DescriptionKey(MapperConfig<?> config, Class<?> type) {
+      this.config = config;
+      this.type = type;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof DescriptionKey)) {
+        return false;
+      }
+      DescriptionKey other = (DescriptionKey) obj;
+      return config == other.config && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * System.identityHashCode(config) + type.hashCode();
+    }
+  }
+}
@@ -3,6 +3,7 @@ package com.mangofactory.swagger.models.property.constructor;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.mangofactory.swagger.models.BeanPropertyNamingStrategy;
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
+import com.mangofactory.swagger.models.property.BeanDescriptionProvider;
 import com.mangofactory.swagger.models.property.field.FieldModelPropertyProvider;
 import com.mangofactory.swagger.models.property.field.FieldProvider;
 import com.mangofactory.swagger.models.property.provider.ModelPropertiesProvider;
@@ -15,10 +16,10 @@ import java.lang.reflect.Constructor;
 public class ConstructorModelPropertyProvider extends FieldModelPropertyProvider implements ModelPropertiesProvider {
 
   @Autowired
-  public ConstructorModelPropertyProvider(FieldProvider fieldProvider, AlternateTypeProvider alternateTypeProvider,
-      BeanPropertyNamingStrategy namingStrategy) {
+  public ConstructorModelPropertyProvider(FieldProvider fieldProvider, BeanDescriptionProvider beanDescriptions,
+      AlternateTypeProvider alternateTypeProvider, BeanPropertyNamingStrategy namingStrategy) {
 
-    super(fieldProvider, alternateTypeProvider, namingStrategy);
+    super(fieldProvider, beanDescriptions, alternateTypeProvider, namingStrategy);
   }
 
   @Override
@@ -1,10 +1,8 @@
 package com.mangofactory.swagger.models.property.field;
 
-import com.fasterxml.classmate.MemberResolver;
 import com.fasterxml.classmate.ResolvedType;
-import com.fasterxml.classmate.ResolvedTypeWithMembers;
-import com.fasterxml.classmate.TypeResolver;
 import com.fasterxml.classmate.members.ResolvedField;
+import com.mangofactory.swagger.models.TypeMembersProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -12,19 +10,17 @@ import static com.google.common.collect.Lists.*;
 
 @Component
 public class FieldProvider {
-  private final TypeResolver typeResolver;
+  private final TypeMembersProvider typeMembers;
 
   @Autowired
-  public FieldProvider(TypeResolver typeResolver) {
-    this.typeResolver = typeResolver;
+  public FieldProvider(TypeMembersProvider typeMembers) {
+    this.typeMembers = typeMembers;
   }
 
   public Iterable<? extends ResolvedField> in(ResolvedType resolvedType) {
-    MemberResolver memberResolver = new MemberResolver(typeResolver);
     if (resolvedType.getErasedType() == Object.class) {
       return newArrayList();
     }
-    ResolvedTypeWithMembers resolvedMemberWithMembers = memberResolver.resolve(resolvedType, null, null);
-    return newArrayList(resolvedMemberWithMembers.getMemberFields());
+    return typeMembers.memberFields(resolvedType);
   }
 }
@@ -6,9 +6,11 @@ import com.mangofactory.swagger.models.DefaultModelProvider
 import com.mangofactory.swagger.models.ModelDependencyProvider
 import com.mangofactory.swagger.models.ModelProvider
 import com.mangofactory.swagger.models.ObjectMapperBeanPropertyNamingStrategy
+import com.mangofactory.swagger.models.TypeMembersProvider
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider
 import com.mangofactory.swagger.models.alternates.AlternateTypeRule
 import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration
+import com.mangofactory.swagger.models.property.BeanDescriptionProvider
 import com.mangofactory.swagger.models.property.bean.AccessorsProvider
 import com.mangofactory.swagger.models.property.bean.BeanModelPropertyProvider
 import com.mangofactory.swagger.models.property.constructor.ConstructorModelPropertyProvider
@@ -37,16 +39,19 @@ class ModelProviderSupport {
   ModelProvider defaultModelProvider(TypeResolver typeResolver = new TypeResolver(),
                                      AlternateTypeProvider alternateTypeProvider = defaultAlternateTypesProvider()) {
 
-    def fields = new FieldProvider(typeResolver)
+    def typeMembers = new TypeMembersProvider(typeResolver)
+    def fields = new FieldProvider(typeMembers)
+
+    def beanDescriptions = new BeanDescriptionProvider()
 
     def objectMapper = new ObjectMapper()
     def namingStrategy = new ObjectMapperBeanPropertyNamingStrategy(objectMapper)
 
-    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeResolver), typeResolver,
+    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeMembers), beanDescriptions, typeResolver,
             alternateTypeProvider, namingStrategy)
-    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
     def constructorModelPropertyProvider =
-            new ConstructorModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+            new ConstructorModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
 
     def modelPropertiesProvider = new DefaultModelPropertiesProvider(beanModelPropertyProvider,
             fieldModelPropertyProvider, constructorModelPropertyProvider)
@@ -66,17 +71,19 @@ class ModelProviderSupport {
 
   ModelDependencyProvider defaultModelDependencyProvider() {
     def typeResolver = new TypeResolver()
-    def fields = new FieldProvider(typeResolver)
+    def typeMembers = new TypeMembersProvider(typeResolver)
+    def fields = new FieldProvider(typeMembers)
+    def beanDescriptions = new BeanDescriptionProvider()
     def alternateTypeProvider = new AlternateTypeProvider()
 
     def objectMapper = new ObjectMapper()
     def namingStrategy = new ObjectMapperBeanPropertyNamingStrategy(objectMapper);
 
-    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeResolver), typeResolver,
+    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeMembers), beanDescriptions, typeResolver,
             alternateTypeProvider, namingStrategy)
-    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
     def constructorModelPropertyProvider =
-            new ConstructorModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+            new ConstructorModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
 
     def modelPropertiesProvider = new DefaultModelPropertiesProvider(beanModelPropertyProvider,
             fieldModelPropertyProvider, constructorModelPropertyProvider)
@@ -56,6 +56,31 @@ class AlternateTypeProviderSpec extends Specification {
       newRule(genericClassOfType(WildcardType), WildcardType) | nestedGenericType(SimpleType)   | resolver.resolve(ResponseEntity, SimpleType)
   }
 
+  def "The first matching rule provides the alternate, in the order rules were added"() {
+    given:
+      AlternateTypeProvider sut = new AlternateTypeProvider()
+      sut.addRule(newRule(genericClassOfType(SimpleType), ComplexType))
+      sut.addRule(newRule(genericClassOfType(WildcardType), WildcardType))
+    expect:
+      sut.alternateFor(genericClassOfType(SimpleType)) == asResolved(new TypeResolver(), ComplexType)
+      sut.alternateFor(genericClassOfType(ComplexType)) == asResolved(new TypeResolver(), ComplexType)
+      sut.alternateFor(genericClassOfType(String)) == asResolved(new TypeResolver(), String)
+  }
+
+  def "Alternates are memoized until a rule is added"() {
+    given:
+      AlternateTypeProvider sut = new AlternateTypeProvider()
+      def type = genericClassOfType(SimpleType)
+      def version = sut.ruleSetVersion
+    expect:
+      sut.alternateFor(type).is(sut.alternateFor(type))
+    when:
+      sut.addRule(newRule(genericClassOfType(WildcardType), WildcardType))
+    then:
+      sut.ruleSetVersion != version
+      sut.alternateFor(type) == asResolved(new TypeResolver(), SimpleType)
+  }
+
   private AlternateTypeRule mismatchedNestedGenericRule() {
     newRule(nestedGenericType(WildcardType), nestedGenericType(nestedGenericType(WildcardType)))
   }
@@ -3,6 +3,9 @@ package com.mangofactory.swagger.models
 import com.fasterxml.classmate.TypeResolver
 import com.mangofactory.swagger.mixins.ModelProviderSupport
 import com.mangofactory.swagger.mixins.TypesForTestingSupport
+import com.mangofactory.swagger.models.alternates.AlternateTypeProvider
+import com.mangofactory.swagger.models.alternates.AlternateTypeRule
+import org.joda.time.LocalDate
 import org.springframework.http.HttpHeaders
 import spock.lang.Specification
 
@@ -49,4 +52,34 @@ class ModelProviderSpec extends Specification {
       genericCollectionWithEnum()    | ["Collection«string»"]
       recursiveType()                | ["SimpleType"]
   }
+
+  def "models are built once per type and direction"() {
+    given:
+      ModelProvider sut = defaultModelProvider()
+
+    expect:
+      sut.modelFor(ModelContext.inputParam(complexType())).get()
+              .is(sut.modelFor(ModelContext.inputParam(complexType())).get())
+      sut.modelFor(ModelContext.returnValue(complexType())).get()
+              .is(sut.modelFor(ModelContext.returnValue(complexType())).get())
+      !sut.modelFor(ModelContext.inputParam(complexType())).get()
+              .is(sut.modelFor(ModelContext.returnValue(complexType())).get())
+  }
+
+  def "models are rebuilt once an alternate type rule is added"() {
+    given:
+      TypeResolver typeResolver = new TypeResolver()
+      AlternateTypeProvider alternateTypeProvider = new AlternateTypeProvider()
+      ModelProvider sut = defaultModelProvider(typeResolver, alternateTypeProvider)
+
+    when:
+      def before = sut.modelFor(ModelContext.inputParam(typeWithAlternateProperty())).get()
+      alternateTypeProvider.addRule(new AlternateTypeRule(typeResolver.resolve(LocalDate),
+              typeResolver.resolve(String)))
+      def after = sut.modelFor(ModelContext.inputParam(typeWithAlternateProperty())).get()
+
+    then:
+      before.properties().get("localDate").get().type() == "LocalDate"
+      after.properties().get("localDate").get().type() == "string"
+  }
 }
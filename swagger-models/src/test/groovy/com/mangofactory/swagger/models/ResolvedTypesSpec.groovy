@@ -0,0 +1,38 @@
+package com.mangofactory.swagger.models
+
+import com.fasterxml.classmate.TypeResolver
+import spock.lang.Specification
+
+import static com.mangofactory.swagger.models.ResolvedTypes.*
+
+class ResolvedTypesSpec extends Specification {
+  def "Equal types resolved by different type resolvers have the same canonical type"() {
+    given:
+      def type = new TypeResolver().resolve(GenericType, SimpleType)
+      def sameType = new TypeResolver().resolve(GenericType, SimpleType)
+
+    expect:
+      !type.is(sameType)
+      canonicalType(type).is(canonicalType(sameType))
+      !canonicalType(type).is(canonicalType(new TypeResolver().resolve(GenericType, ComplexType)))
+  }
+
+  def "Type names are rendered once and shared by equal types"() {
+    given:
+      def type = new TypeResolver().resolve(GenericType, SimpleType)
+      def sameType = new TypeResolver().resolve(GenericType, SimpleType)
+
+    expect:
+      typeName(type) == "GenericType«SimpleType»"
+      typeName(type).is(typeName(sameType))
+      genericTypeName(type).is(typeName(sameType))
+      simpleQualifiedTypeName(type).is(simpleQualifiedTypeName(sameType))
+      responseTypeName(new TypeResolver().resolve(List, SimpleType)) == "List[SimpleType]"
+  }
+
+  def "Types without a name are not named"() {
+    expect:
+      simpleTypeName(new TypeResolver().resolve(Void.TYPE)) == null
+      typeName(new TypeResolver().resolve(Void.TYPE)) == null
+  }
+}
@@ -0,0 +1,43 @@
+package com.mangofactory.swagger.models
+
+import com.fasterxml.classmate.TypeResolver
+import spock.lang.Specification
+
+class SeenTypesSpec extends Specification {
+  def resolver = new TypeResolver()
+
+  def "Raw types are seen whatever their type parameters"() {
+    given:
+      def sut = SeenTypes.rawTypes([GenericType])
+
+    expect:
+      sut.hasSeen(resolver.resolve(GenericType))
+      sut.hasSeen(resolver.resolve(GenericType, SimpleType))
+      !sut.hasSeen(resolver.resolve(SimpleType))
+  }
+
+  def "Generic types are only seen with the same type parameters"() {
+    given:
+      def sut = new SeenTypes()
+
+    when:
+      sut.seen(resolver.resolve(GenericType, SimpleType))
+
+    then:
+      sut.hasSeen(resolver.resolve(GenericType, SimpleType))
+      !sut.hasSeen(resolver.resolve(GenericType, ComplexType))
+      !sut.hasSeen(resolver.resolve(GenericType))
+  }
+
+  def "A model context sees the ignorable types and the types seen by its parents"() {
+    given:
+      def context = ModelContext.returnValue(ComplexType, SeenTypes.rawTypes([Category]))
+      context.seen(resolver.resolve(SimpleType))
+      def child = ModelContext.fromParent(context, resolver.resolve(GenericType, SimpleType))
+
+    expect:
+      child.hasSeenBefore(resolver.resolve(Category))
+      child.hasSeenBefore(resolver.resolve(SimpleType))
+      !child.hasSeenBefore(resolver.resolve(ComplexType))
+  }
+}
@@ -0,0 +1,34 @@
+package com.mangofactory.swagger.models
+
+import com.fasterxml.classmate.TypeResolver
+import spock.lang.Specification
+
+class TypeMembersProviderSpec extends Specification {
+  def typeResolver = new TypeResolver()
+  def type = typeResolver.resolve(TypeWithGettersAndSetters)
+
+  def "Resolves the members of a type once"() {
+    given:
+      def sut = new TypeMembersProvider(typeResolver)
+
+    when:
+      def methods = sut.memberMethods(type)
+      def fields = sut.memberFields(type)
+
+    then:
+      methods.any { it.name == "getIntProp" }
+      !methods.any { it.name == "hashCode" }
+      fields*.name.containsAll(["intProp", "boolProp", "enumProp", "genericProp"])
+      sut.memberMethods(typeResolver.resolve(TypeWithGettersAndSetters)).is(methods)
+      sut.memberFields(type).is(fields)
+  }
+
+  def "Looks up member methods by name"() {
+    given:
+      def sut = new TypeMembersProvider(typeResolver)
+
+    expect:
+      sut.memberMethods(type, "setIntProp")*.name == ["setIntProp"]
+      sut.memberMethods(type, "unknown").isEmpty()
+  }
+}
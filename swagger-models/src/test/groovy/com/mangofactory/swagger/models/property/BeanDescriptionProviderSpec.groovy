@@ -0,0 +1,40 @@
+package com.mangofactory.swagger.models.property
+
+import com.fasterxml.classmate.TypeResolver
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.PropertyNamingStrategy
+import com.mangofactory.swagger.models.TypeWithGettersAndSetters
+import spock.lang.Specification
+
+class BeanDescriptionProviderSpec extends Specification {
+  def type = new TypeResolver().resolve(TypeWithGettersAndSetters)
+
+  def "Introspects a type once per direction"() {
+    given:
+      def sut = new BeanDescriptionProvider()
+      def objectMapper = new ObjectMapper()
+
+    when:
+      def serialized = sut.propertiesForSerialization(objectMapper, type)
+      def deserialized = sut.propertiesForDeserialization(objectMapper, type)
+
+    then:
+      serialized.containsKey("intProp")
+      sut.propertiesForSerialization(objectMapper, type).is(serialized)
+      sut.propertiesForDeserialization(objectMapper, type).is(deserialized)
+      !serialized.is(deserialized)
+  }
+
+  def "Introspects a type again once the object mapper is reconfigured"() {
+    given:
+      def sut = new BeanDescriptionProvider()
+      def objectMapper = new ObjectMapper()
+      def serialized = sut.propertiesForSerialization(objectMapper, type)
+
+    when:
+      objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES)
+
+    then:
+      !sut.propertiesForSerialization(objectMapper, type).is(serialized)
+  }
+}
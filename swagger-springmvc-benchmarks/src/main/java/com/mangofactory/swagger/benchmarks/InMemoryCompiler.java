@@ -0,0 +1,131 @@
+package com.mangofactory.swagger.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileManager;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.*;
+import static com.google.common.collect.Maps.*;
+
+/**
+ * Compiles generated sources of a single package in memory, against the classpath the benchmarks run with, so that
+ * applications and models of any size can be benchmarked without checking them in.
+ */
+public class InMemoryCompiler {
+  private static final Joiner LINES = Joiner.on('\n');
+
+  private final String packageName;
+  private final List<JavaFileObject> sources = newArrayList();
+
+  public InMemoryCompiler(String packageName) {
+    this.packageName = packageName;
+  }
+
+  public InMemoryCompiler source(String className, final String source) {
+    URI uri = URI.create("string:///" + packageName.replace('.', '/') + "/" + className
+            + JavaFileObject.Kind.SOURCE.extension);
+    sources.add(new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+      @Override
+      public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+        return source;
+      }
+    });
+    return this;
+  }
+
+  /**
+   * Adds a java bean with a private field, a getter and a setter per property
+   *
+   * @param properties pairs of property type and name
+   */
+  public InMemoryCompiler javaBean(String className, String... properties) {
+    List<String> lines = newArrayList("package " + packageName + ";", "public class " + className + " {");
+    for (int index = 0; index < properties.length; index += 2) {
+      lines.add("  private " + properties[index] + " " + properties[index + 1] + ";");
+    }
+    for (int index = 0; index < properties.length; index += 2) {
+      String type = properties[index];
+      String property = properties[index + 1];
+      String accessor = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+      lines.add("  public " + type + " get" + accessor + "() { return " + property + "; }");
+      lines.add("  public void set" + accessor + "(" + type + " " + property + ") { this." + property + " = "
+              + property + "; }");
+    }
+    lines.add("}");
+    return source(className, LINES.join(lines));
+  }
+
+  /**
+   * @return a class loader defining the compiled classes, delegating to the class loader of the benchmarks
+   */
+  public ClassLoader compile() {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (null == compiler) {
+      throw new IllegalStateException("Generated sources can only be compiled when running on a JDK");
+    }
+    ClassFileManager classFileManager = new ClassFileManager(compiler.getStandardFileManager(null, null,
+            Charsets.UTF_8));
+    List<String> options = Arrays.asList("-g", "-proc:none", "-classpath", System.getProperty("java.class.path"));
+    if (!compiler.getTask(null, classFileManager, null, options, null, sources).call()) {
+      throw new IllegalStateException("Unable to compile the generated sources of " + packageName);
+    }
+    return new GeneratedClassLoader(getClass().getClassLoader(), classFileManager.classFiles);
+  }
+
+  /**
+   * Keeps the compiled classes in memory
+   */
+  private static class ClassFileManager extends ForwardingJavaFileManager<JavaFileManager> {
+    private final Map<String, ByteArrayOutputStream> classFiles = newHashMap();
+
+    ClassFileManager(JavaFileManager fileManager) {
+      super(fileManager);
+    }
+
+    @Override
+    public JavaFileObject getJavaFileForOutput(Location location, final String className, JavaFileObject.Kind kind,
+                                               FileObject sibling) {
+      URI uri = URI.create("bytes:///" + className.replace('.', '/') + kind.extension);
+      return new SimpleJavaFileObject(uri, kind) {
+        @Override
+        public OutputStream openOutputStream() {
+          ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+          classFiles.put(className, classFile);
+          return classFile;
+        }
+      };
+    }
+  }
+
+  private static class GeneratedClassLoader extends ClassLoader {
+    private final Map<String, ByteArrayOutputStream> classFiles;
+
+    GeneratedClassLoader(ClassLoader parent, Map<String, ByteArrayOutputStream> classFiles) {
+      super(parent);
+      this.classFiles = classFiles;
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+      ByteArrayOutputStream classFile = classFiles.get(name);
+      if (null == classFile) {
+        throw new ClassNotFoundException(name);
+      }
+      byte[] bytes = classFile.toByteArray();
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+package com.mangofactory.swagger.benchmarks;
+
+import com.google.common.base.Joiner;
+import com.mangofactory.swagger.configuration.SpringSwaggerConfig;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+/**
+ * A Spring MVC application of a given number of handler methods, generated and compiled in memory so that the scan
+ * pipeline can be benchmarked at sizes no hand written sample reaches.
+ *
+ * Every controller has ten handler methods over its own graph of DTOs: an order referring to a customer with two
+ * addresses, to a list of order lines and to a status enum. Handler methods take path variables, request parameters
+ * and request bodies and return single DTOs as well as collections of them, so both operation building and model
+ * resolution grow with the size of the application. Only the Spring MVC request mappings and swagger itself are
+ * booted, as in the api docs generator.
+ */
+public class SyntheticApplication {
+  public static final int HANDLER_METHODS_PER_CONTROLLER = 10;
+  private static final String PACKAGE = "com.mangofactory.swagger.benchmarks.synthetic";
+  private static final Joiner LINES = Joiner.on('\n');
+
+  private final int controllerCount;
+  private final GenericWebApplicationContext applicationContext;
+
+  /**
+   * @param handlerMethods the number of handler methods, rounded up to a whole number of controllers
+   */
+  public SyntheticApplication(int handlerMethods) {
+    this.controllerCount = (handlerMethods + HANDLER_METHODS_PER_CONTROLLER - 1) / HANDLER_METHODS_PER_CONTROLLER;
+    this.applicationContext = new GenericWebApplicationContext(new MockServletContext());
+  }
+
+  /**
+   * Compiles the controllers and DTOs and refreshes an application context holding their request mappings. The
+   * refresh documents the application once, as any application using swagger-springmvc would on startup.
+   */
+  public SyntheticApplication start() {
+    ClassLoader classLoader = compile();
+    applicationContext.setClassLoader(classLoader);
+    new AnnotatedBeanDefinitionReader(applicationContext).register(RequestMappingConfiguration.class);
+    for (int index = 0; index < controllerCount; index++) {
+      try {
+        Class<?> controller = classLoader.loadClass(PACKAGE + ".OrderController" + index);
+        applicationContext.registerBeanDefinition("orderController" + index, new RootBeanDefinition(controller));
+      } catch (ClassNotFoundException e) {
+        throw new IllegalStateException("Synthetic controller was not compiled", e);
+      }
+    }
+    applicationContext.refresh();
+    return this;
+  }
+
+  public void stop() {
+    applicationContext.close();
+  }
+
+  public SpringSwaggerConfig getSpringSwaggerConfig() {
+    return applicationContext.getBean(SpringSwaggerConfig.class);
+  }
+
+  public int getHandlerMethodCount() {
+    return controllerCount * HANDLER_METHODS_PER_CONTROLLER;
+  }
+
+  private ClassLoader compile() {
+    InMemoryCompiler compiler = new InMemoryCompiler(PACKAGE);
+    for (int index = 0; index < controllerCount; index++) {
+      compiler.source("OrderController" + index, controller(index))
+              .javaBean("Order" + index,
+                      "long", "id",
+                      "Status" + index, "status",
+                      "Customer" + index, "customer",
+                      "java.util.List<OrderLine" + index + ">", "lines",
+                      "java.util.Date", "created",
+                      "java.math.BigDecimal", "total")
+              .javaBean("Customer" + index,
+                      "String", "name",
+                      "String", "email",
+                      "Address" + index, "billingAddress",
+                      "Address" + index, "shippingAddress")
+              .javaBean("Address" + index,
+                      "String", "street",
+                      "String", "city",
+                      "String", "zip",
+                      "String", "country")
+              .javaBean("OrderLine" + index,
+                      "String", "sku",
+                      "int", "quantity",
+                      "java.math.BigDecimal", "price")
+              .source("Status" + index, String.format("package %s;%npublic enum Status%d { NEW, PAID, SHIPPED }",
+                      PACKAGE, index));
+    }
+    return compiler.compile();
+  }
+
+  private static String controller(int index) {
+    String order = "Order" + index;
+    String path = "/orders" + index;
+    return LINES.join(
+            "package " + PACKAGE + ";",
+            "import org.springframework.stereotype.Controller;",
+            "import org.springframework.web.bind.annotation.*;",
+            "import java.util.List;",
+            "import java.util.Set;",
+            "@Controller",
+            "@RequestMapping(\"" + path + "\")",
+            "public class OrderController" + index + " {",
+            handlerMethod("GET", "/{id}", order, "getOrder", "@PathVariable(\"id\") long id"),
+            handlerMethod("GET", "", "List<" + order + ">", "listOrders",
+                    "@RequestParam(\"page\") int page, @RequestParam(\"size\") int size"),
+            handlerMethod("POST", "", order, "createOrder", "@RequestBody " + order + " order"),
+            handlerMethod("PUT", "/{id}", order, "updateOrder",
+                    "@PathVariable(\"id\") long id, @RequestBody " + order + " order"),
+            handlerMethod("DELETE", "/{id}", "void", "deleteOrder", "@PathVariable(\"id\") long id"),
+            handlerMethod("GET", "/{id}/customer", "Customer" + index, "getCustomer", "@PathVariable(\"id\") long id"),
+            handlerMethod("PUT", "/{id}/customer", "Customer" + index, "updateCustomer",
+                    "@PathVariable(\"id\") long id, @RequestBody Customer" + index + " customer"),
+            handlerMethod("GET", "/{id}/lines", "List<OrderLine" + index + ">", "getLines",
+                    "@PathVariable(\"id\") long id"),
+            handlerMethod("POST", "/{id}/lines", "OrderLine" + index, "addLine",
+                    "@PathVariable(\"id\") long id, @RequestBody OrderLine" + index + " line"),
+            handlerMethod("GET", "/search", "Set<" + order + ">", "searchOrders",
+                    "@RequestParam(\"status\") Status" + index + " status, "
+                            + "@RequestParam(value = \"customer\", required = false) String customer"),
+            "}");
+  }
+
+  private static String handlerMethod(String httpMethod, String path, String returnType, String name,
+                                      String parameters) {
+    return LINES.join(
+            "  @RequestMapping(value = \"" + path + "\", method = RequestMethod." + httpMethod + ")",
+            "  @ResponseBody",
+            "  public " + returnType + " " + name + "(" + parameters + ") {",
+            "void".equals(returnType) ? "  }" : "    return null;\n  }");
+  }
+
+  /**
+   * The Spring MVC request mapping infrastructure and swagger itself
+   */
+  @Configuration
+  @EnableWebMvc
+  @Import(SpringSwaggerConfig.class)
+  static class RequestMappingConfiguration {
+  }
+}
@@ -0,0 +1,46 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A recursive type, referring to itself directly, through a collection and through a map
+ */
+public class Category {
+  private String name;
+  private Category parent;
+  private List<Category> children;
+  private Map<String, Category> related;
+
+  public String getName() {
+    return name;
+  }
+
+  public void setName(String name) {
+    this.name = name;
+  }
+
+  public Category getParent() {
+    return parent;
+  }
+
+  public void setParent(Category parent) {
+    this.parent = parent;
+  }
+
+  public List<Category> getChildren() {
+    return children;
+  }
+
+  public void setChildren(List<Category> children) {
+    this.children = children;
+  }
+
+  public Map<String, Category> getRelated() {
+    return related;
+  }
+
+  public void setRelated(Map<String, Category> related) {
+    this.related = related;
+  }
+}
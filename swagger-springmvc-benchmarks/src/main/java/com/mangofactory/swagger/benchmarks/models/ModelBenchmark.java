@@ -0,0 +1,157 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.base.Optional;
+import com.mangofactory.swagger.models.DefaultModelProvider;
+import com.mangofactory.swagger.models.ModelContext;
+import com.mangofactory.swagger.models.ModelDependencyProvider;
+import com.mangofactory.swagger.models.ResolvedTypes;
+import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
+import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration;
+import com.mangofactory.swagger.models.property.ModelProperty;
+import com.mangofactory.swagger.models.property.provider.ModelPropertiesProvider;
+import com.wordnik.swagger.model.Model;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.collect.Lists.*;
+
+/**
+ * The hot paths of swagger-models, from building a whole graph of models down to naming a single type, against each
+ * model shape. The components are wired by the SwaggerModelsConfiguration, as in an application.
+ *
+ * The types looked up by the alternateFor and typeName benchmarks are the models of the graph and the types of all
+ * their properties. Property providers return lazy iterables, which are consumed in full.
+ *
+ * Run with the GC profiler (see the jmh task) to get the allocation rate along with the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+  @Param({"WIDE", "DEEP", "RECURSIVE", "NESTED_GENERICS"})
+  private ModelShape shape;
+
+  private AnnotationConfigApplicationContext applicationContext;
+  private DefaultModelProvider modelProvider;
+  private ModelDependencyProvider dependencyProvider;
+  private AlternateTypeProvider alternateTypeProvider;
+  private ModelPropertiesProvider propertiesProvider;
+  private ModelPropertiesProvider fieldPropertiesProvider;
+  private ModelPropertiesProvider beanPropertiesProvider;
+  private ModelPropertiesProvider constructorPropertiesProvider;
+  private ResolvedType type;
+  private List<ResolvedType> types;
+
+  @Setup
+  public void wireModelProviders() {
+    applicationContext = new AnnotationConfigApplicationContext(SwaggerModelsConfiguration.class);
+    modelProvider = applicationContext.getBean(DefaultModelProvider.class);
+    dependencyProvider = applicationContext.getBean(ModelDependencyProvider.class);
+    alternateTypeProvider = applicationContext.getBean(AlternateTypeProvider.class);
+    propertiesProvider = applicationContext.getBean("default", ModelPropertiesProvider.class);
+    fieldPropertiesProvider = applicationContext.getBean("fieldModelPropertyProvider", ModelPropertiesProvider.class);
+    beanPropertiesProvider = applicationContext.getBean("beanModelPropertyProvider", ModelPropertiesProvider.class);
+    constructorPropertiesProvider = applicationContext.getBean("constructorModelPropertyProvider",
+            ModelPropertiesProvider.class);
+    propertiesProvider.setObjectMapper(new ObjectMapper());
+
+    type = shape.resolve(applicationContext.getBean(TypeResolver.class));
+    types = newArrayList();
+    List<ResolvedType> models = newArrayList(dependencyProvider.dependentModels(ModelContext.returnValue(type)));
+    models.add(type);
+    for (ResolvedType model : models) {
+      types.add(model);
+      for (ModelProperty property : propertiesProvider.propertiesForSerialization(model)) {
+        types.add(property.getType());
+      }
+    }
+  }
+
+  @TearDown
+  public void close() {
+    applicationContext.close();
+  }
+
+  @Benchmark
+  public Optional<Model> modelFor() {
+    return modelProvider.modelFor(ModelContext.returnValue(type));
+  }
+
+  @Benchmark
+  public Map<String, Model> dependencies() {
+    return modelProvider.dependencies(ModelContext.returnValue(type));
+  }
+
+  @Benchmark
+  public Set<ResolvedType> dependentModels() {
+    return dependencyProvider.dependentModels(ModelContext.returnValue(type));
+  }
+
+  @Benchmark
+  public void alternateFor(Blackhole blackhole) {
+    for (ResolvedType each : types) {
+      blackhole.consume(alternateTypeProvider.alternateFor(each));
+    }
+  }
+
+  @Benchmark
+  public void typeName(Blackhole blackhole) {
+    for (ResolvedType each : types) {
+      blackhole.consume(ResolvedTypes.typeName(each));
+    }
+  }
+
+  @Benchmark
+  public void propertiesForSerialization(Blackhole blackhole) {
+    consume(propertiesProvider.propertiesForSerialization(type), blackhole);
+  }
+
+  @Benchmark
+  public void propertiesForDeserialization(Blackhole blackhole) {
+    consume(propertiesProvider.propertiesForDeserialization(type), blackhole);
+  }
+
+  @Benchmark
+  public void fieldProperties(Blackhole blackhole) {
+    consume(fieldPropertiesProvider.propertiesForSerialization(type), blackhole);
+  }
+
+  @Benchmark
+  public void beanProperties(Blackhole blackhole) {
+    consume(beanPropertiesProvider.propertiesForSerialization(type), blackhole);
+  }
+
+  @Benchmark
+  public void constructorProperties(Blackhole blackhole) {
+    consume(constructorPropertiesProvider.propertiesForDeserialization(type), blackhole);
+  }
+
+  private static void consume(Iterable<? extends ModelProperty> properties, Blackhole blackhole) {
+    for (ModelProperty each : properties) {
+      blackhole.consume(each);
+    }
+  }
+}
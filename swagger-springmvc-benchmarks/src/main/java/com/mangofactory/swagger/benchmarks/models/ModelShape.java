@@ -0,0 +1,84 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+import com.mangofactory.swagger.benchmarks.InMemoryCompiler;
+
+import java.util.List;
+
+import static com.google.common.collect.Lists.*;
+
+/**
+ * The kinds of models swagger-models is benchmarked against. Wide and deep models are generated and compiled in memory
+ * as they are too big to be written by hand.
+ */
+public enum ModelShape {
+  /**
+   * A single model of 200 properties of scalar, date, enum and collection types
+   */
+  WIDE {
+    @Override
+    public ResolvedType resolve(TypeResolver typeResolver) {
+      String[] types = {"String", "int", "Long", "java.util.Date", "java.math.BigDecimal", "java.util.List<String>",
+              "boolean", "java.util.concurrent.TimeUnit"};
+      List<String> properties = newArrayList();
+      for (int index = 0; index < WIDE_PROPERTIES; index++) {
+        properties.add(types[index % types.length]);
+        properties.add("property" + index);
+      }
+      return typeResolver.resolve(load(new InMemoryCompiler(PACKAGE)
+              .javaBean("Wide", properties.toArray(new String[properties.size()])), "Wide"));
+    }
+  },
+  /**
+   * A chain of 30 models, each referring to the next one. Seen types are tracked along each path through the graph,
+   * so a second reference to the next level would double the work at every level.
+   */
+  DEEP {
+    @Override
+    public ResolvedType resolve(TypeResolver typeResolver) {
+      InMemoryCompiler compiler = new InMemoryCompiler(PACKAGE);
+      for (int level = 0; level < DEPTH - 1; level++) {
+        compiler.javaBean("Level" + level,
+                "long", "id",
+                "String", "name",
+                "java.util.List<String>", "tags",
+                "Level" + (level + 1), "child");
+      }
+      compiler.javaBean("Level" + (DEPTH - 1), "long", "id", "String", "name");
+      return typeResolver.resolve(load(compiler, "Level0"));
+    }
+  },
+  RECURSIVE {
+    @Override
+    public ResolvedType resolve(TypeResolver typeResolver) {
+      return typeResolver.resolve(Category.class);
+    }
+  },
+  /**
+   * A page of a model whose properties are generics nested several levels deep
+   */
+  NESTED_GENERICS {
+    @Override
+    public ResolvedType resolve(TypeResolver typeResolver) {
+      return typeResolver.resolve(Page.class, NestedGenerics.class);
+    }
+  };
+
+  public static final int WIDE_PROPERTIES = 200;
+  public static final int DEPTH = 30;
+  private static final String PACKAGE = "com.mangofactory.swagger.benchmarks.models.synthetic";
+
+  /**
+   * @return the root model of this shape, compiling it first if it is generated
+   */
+  public abstract ResolvedType resolve(TypeResolver typeResolver);
+
+  private static Class<?> load(InMemoryCompiler compiler, String className) {
+    try {
+      return compiler.compile().loadClass(PACKAGE + "." + className);
+    } catch (ClassNotFoundException e) {
+      throw new IllegalStateException("Synthetic model was not compiled", e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties of generic types nested four to six levels deep, each parameterization being a model of its own
+ */
+public class NestedGenerics {
+  private Pair<String, Page<Pair<Integer, List<Pair<String, Category>>>>> pairs;
+  private Page<Page<Pair<Set<String>, Page<Category>>>> pages;
+  private Map<String, List<Pair<Long, Set<Page<String>>>>> lookup;
+  private List<Set<Pair<Page<Integer>, Pair<String, Page<Pair<Boolean, Category>>>>>> mixed;
+
+  public Pair<String, Page<Pair<Integer, List<Pair<String, Category>>>>> getPairs() {
+    return pairs;
+  }
+
+  public void setPairs(Pair<String, Page<Pair<Integer, List<Pair<String, Category>>>>> pairs) {
+    this.pairs = pairs;
+  }
+
+  public Page<Page<Pair<Set<String>, Page<Category>>>> getPages() {
+    return pages;
+  }
+
+  public void setPages(Page<Page<Pair<Set<String>, Page<Category>>>> pages) {
+    this.pages = pages;
+  }
+
+  public Map<String, List<Pair<Long, Set<Page<String>>>>> getLookup() {
+    return lookup;
+  }
+
+  public void setLookup(Map<String, List<Pair<Long, Set<Page<String>>>>> lookup) {
+    this.lookup = lookup;
+  }
+
+  public List<Set<Pair<Page<Integer>, Pair<String, Page<Pair<Boolean, Category>>>>>> getMixed() {
+    return mixed;
+  }
+
+  public void setMixed(List<Set<Pair<Page<Integer>, Pair<String, Page<Pair<Boolean, Category>>>>>> mixed) {
+    this.mixed = mixed;
+  }
+}
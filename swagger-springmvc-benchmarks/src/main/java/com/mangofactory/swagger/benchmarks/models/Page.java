@@ -0,0 +1,33 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+import java.util.List;
+
+public class Page<T> {
+  private int number;
+  private int size;
+  private List<T> content;
+
+  public int getNumber() {
+    return number;
+  }
+
+  public void setNumber(int number) {
+    this.number = number;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public void setSize(int size) {
+    this.size = size;
+  }
+
+  public List<T> getContent() {
+    return content;
+  }
+
+  public void setContent(List<T> content) {
+    this.content = content;
+  }
+}
@@ -0,0 +1,22 @@
+package com.mangofactory.swagger.benchmarks.models;
+
+public class Pair<L, R> {
+  private L left;
+  private R right;
+
+  public L getLeft() {
+    return left;
+  }
+
+  public void setLeft(L left) {
+    this.left = left;
+  }
+
+  public R getRight() {
+    return right;
+  }
+
+  public void setRight(R right) {
+    this.right = right;
+  }
+}
@@ -0,0 +1,58 @@
+package com.mangofactory.swagger.plugin;
+
+import com.mangofactory.swagger.benchmarks.SyntheticApplication;
+import com.mangofactory.swagger.core.SwaggerGroupSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The full scan pipeline as run on startup: a SwaggerSpringMvcPlugin is built and initialized, scanning every request
+ * mapping of the application and publishing its documentation to the swagger cache. Lives in the plugin package to
+ * drive the plugin the way SwaggerPluginAdapter does.
+ *
+ * Run with the GC profiler (see the jmh task) to get the allocation rate along with the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SwaggerSpringMvcPluginBenchmark {
+  private static final String SWAGGER_GROUP = "benchmark";
+
+  @Param({"100", "1000", "10000"})
+  private int handlerMethods;
+
+  private SyntheticApplication application;
+
+  @Setup
+  public void startApplication() {
+    application = new SyntheticApplication(handlerMethods).start();
+  }
+
+  @TearDown
+  public void stopApplication() {
+    application.stop();
+  }
+
+  @Benchmark
+  public SwaggerGroupSnapshot buildAndInitialize() {
+    new SwaggerSpringMvcPlugin(application.getSpringSwaggerConfig())
+            .swaggerGroup(SWAGGER_GROUP)
+            .initialize();
+    return application.getSpringSwaggerConfig().swaggerCache().getSwaggerGroup(SWAGGER_GROUP);
+  }
+}
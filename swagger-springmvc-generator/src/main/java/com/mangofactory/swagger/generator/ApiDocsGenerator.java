@@ -0,0 +1,101 @@
+package com.mangofactory.swagger.generator;
+
+import com.google.common.base.Splitter;
+import com.mangofactory.swagger.configuration.SpringSwaggerConfig;
+import com.mangofactory.swagger.core.GeneratedApiDocs;
+import com.mangofactory.swagger.core.SwaggerCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.BeanDefinitionDefaults;
+import org.springframework.context.annotation.AnnotatedBeanDefinitionReader;
+import org.springframework.context.annotation.ClassPathBeanDefinitionScanner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static com.google.common.collect.Lists.*;
+
+/**
+ * Generates the api docs of an application at build time, from its compiled classes, so that they can be served with
+ * com.mangofactory.swagger.core.GeneratedApiDocs without scanning the application at runtime.
+ *
+ * Only the Spring MVC request mappings are booted: controllers are found by scanning the given packages for
+ * <code>@Controller</code> classes and are registered lazily, so their request mappings are detected without the
+ * controllers, or anything they depend on, being created. The given configuration classes, typically those defining
+ * the SwaggerSpringMvcPlugin beans, are registered as they are. The documentation is then generated by the usual
+ * SwaggerSpringMvcPlugin pipeline and written in the layout read by GeneratedApiDocs.
+ *
+ * Usage: <code>ApiDocsGenerator outputDirectory controllerPackages [configurationClasses]</code>, where the packages
+ * and classes are comma separated.
+ */
+public class ApiDocsGenerator {
+  private static final Logger log = LoggerFactory.getLogger(ApiDocsGenerator.class);
+  private static final Splitter COMMA_SEPARATED = Splitter.on(',').trimResults().omitEmptyStrings();
+
+  private final List<String> controllerPackages;
+  private final List<Class<?>> configurationClasses;
+
+  public ApiDocsGenerator(List<String> controllerPackages, List<Class<?>> configurationClasses) {
+    this.controllerPackages = controllerPackages;
+    this.configurationClasses = configurationClasses;
+  }
+
+  public static void main(String[] args) throws IOException, ClassNotFoundException {
+    if (args.length < 2) {
+      throw new IllegalArgumentException(
+              "Usage: ApiDocsGenerator outputDirectory controllerPackages [configurationClasses]");
+    }
+    List<Class<?>> configurationClasses = newArrayList();
+    if (args.length > 2) {
+      for (String className : COMMA_SEPARATED.split(args[2])) {
+        configurationClasses.add(ClassUtils.forName(className, ApiDocsGenerator.class.getClassLoader()));
+      }
+    }
+    new ApiDocsGenerator(newArrayList(COMMA_SEPARATED.split(args[1])), configurationClasses)
+            .generate(new File(args[0]));
+  }
+
+  /**
+   * @param outputDirectory where to write the api docs, created if necessary
+   */
+  public void generate(File outputDirectory) throws IOException {
+    GenericWebApplicationContext applicationContext = new GenericWebApplicationContext(new MockServletContext());
+    try {
+      AnnotatedBeanDefinitionReader reader = new AnnotatedBeanDefinitionReader(applicationContext);
+      reader.register(RequestMappingConfiguration.class);
+      reader.register(configurationClasses.toArray(new Class<?>[configurationClasses.size()]));
+
+      ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(applicationContext, false);
+      BeanDefinitionDefaults lazily = new BeanDefinitionDefaults();
+      lazily.setLazyInit(true);
+      scanner.setBeanDefinitionDefaults(lazily);
+      scanner.addIncludeFilter(new AnnotationTypeFilter(Controller.class));
+      int controllers = scanner.scan(controllerPackages.toArray(new String[controllerPackages.size()]));
+      log.info("Found {} controllers in {}", controllers, controllerPackages);
+
+      applicationContext.refresh();
+      GeneratedApiDocs.write(applicationContext.getBean(SwaggerCache.class), outputDirectory);
+      log.info("Wrote api docs to {}", outputDirectory);
+    } finally {
+      applicationContext.close();
+    }
+  }
+
+  /**
+   * The Spring MVC request mapping infrastructure and swagger itself
+   */
+  @Configuration
+  @EnableWebMvc
+  @Import(SpringSwaggerConfig.class)
+  static class RequestMappingConfiguration {
+  }
+}
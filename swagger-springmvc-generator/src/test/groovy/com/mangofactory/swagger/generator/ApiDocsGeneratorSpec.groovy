@@ -0,0 +1,51 @@
+package com.mangofactory.swagger.generator
+
+import com.google.common.io.Files
+import com.mangofactory.swagger.core.GeneratedApiDocs
+import com.mangofactory.swagger.core.SwaggerCache
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Specification
+
+class ApiDocsGeneratorSpec extends Specification {
+  File outputDirectory
+
+  def setup() {
+    outputDirectory = Files.createTempDir()
+  }
+
+  def cleanup() {
+    outputDirectory.deleteDir()
+  }
+
+  def "generates the api docs of controllers without instantiating them"() {
+    when:
+      ApiDocsGenerator.main([outputDirectory.path, "com.mangofactory.swagger.generator.sample"] as String[])
+
+    then:
+      new File(outputDirectory, GeneratedApiDocs.INDEX).readLines() == ["default", "default/pet-controller"]
+      new File(outputDirectory, "default.json").text.contains("/default/pet-controller")
+      new File(outputDirectory, "default/pet-controller.json").text.contains("/pets/{name}")
+  }
+
+  def "the generated api docs are served as they were generated"() {
+    given:
+      new ApiDocsGenerator(["com.mangofactory.swagger.generator.sample"], []).generate(outputDirectory)
+      SwaggerCache swaggerCache = new SwaggerCache()
+
+    when:
+      new GeneratedApiDocs(new FileSystemResource(outputDirectory.path + "/")).load(swaggerCache)
+
+    then:
+      swaggerCache.getSwaggerGroup("default").serializedApiListings['pet-controller'].content ==
+              new File(outputDirectory, "default/pet-controller.json").bytes
+      swaggerCache.getSerializedSwaggerGroup("default") != null
+  }
+
+  def "usage is reported when arguments are missing"() {
+    when:
+      ApiDocsGenerator.main([outputDirectory.path] as String[])
+
+    then:
+      thrown IllegalArgumentException
+  }
+}
@@ -0,0 +1,44 @@
+package com.mangofactory.swagger.generator.sample;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+/**
+ * Depends on a service no bean is defined for, so it can only be documented if it is never instantiated
+ */
+@Controller
+@RequestMapping("/pets")
+public class PetController {
+  private final PetRepository petRepository;
+
+  @Autowired
+  public PetController(PetRepository petRepository) {
+    this.petRepository = petRepository;
+  }
+
+  @RequestMapping(value = "/{name}", method = RequestMethod.GET)
+  @ResponseBody
+  public Pet getPet(@PathVariable String name) {
+    return petRepository.find(name);
+  }
+
+  public interface PetRepository {
+    Pet find(String name);
+  }
+
+  public static class Pet {
+    private String name;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -4,9 +4,13 @@ import com.fasterxml.classmate.TypeResolver;
 import com.google.common.annotations.VisibleForTesting;
 import com.mangofactory.swagger.annotations.ApiIgnore;
 import com.mangofactory.swagger.core.ClassOrApiAnnotationResourceGrouping;
+import com.mangofactory.swagger.core.GeneratedApiDocs;
 import com.mangofactory.swagger.core.ResourceGroupingStrategy;
 import com.mangofactory.swagger.core.SwaggerCache;
+import com.mangofactory.swagger.core.SwaggerCacheSnapshot;
+import com.mangofactory.swagger.metrics.SwaggerMetrics;
 import com.mangofactory.swagger.models.ModelProvider;
+import com.mangofactory.swagger.models.TypeMembersProvider;
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
 import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration;
 import com.mangofactory.swagger.paths.RelativeSwaggerPathProvider;
@@ -14,6 +18,7 @@ import com.mangofactory.swagger.paths.SwaggerPathProvider;
 import com.mangofactory.swagger.plugin.SwaggerPluginAdapter;
 import com.wordnik.swagger.model.ResponseMessage;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
@@ -36,6 +41,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 import static com.google.common.collect.Maps.*;
 import static com.google.common.collect.Sets.*;
@@ -63,6 +69,22 @@ public class SpringSwaggerConfig {
   @Autowired
   private TypeResolver typeResolver;
 
+  @Autowired
+  private TypeMembersProvider typeMembersProvider;
+
+  @Autowired(required = false)
+  @Qualifier(SwaggerPluginAdapter.DOCUMENTATION_EXECUTOR)
+  private Executor documentationExecutor;
+
+  @Autowired(required = false)
+  private SwaggerCacheSnapshot swaggerCacheSnapshot;
+
+  @Autowired(required = false)
+  private GeneratedApiDocs generatedApiDocs;
+
+  @Autowired(required = false)
+  private SwaggerMetrics swaggerMetrics;
+
 
   @Bean
   public List<RequestMappingHandlerMapping> swaggerRequestMappingHandlerMappings() {
@@ -88,7 +110,12 @@ public class SpringSwaggerConfig {
 
   @Bean
   public SwaggerCache swaggerCache() {
-    return new SwaggerCache();
+    SwaggerCache swaggerCache = new SwaggerCache();
+    if (null != swaggerMetrics) {
+      swaggerCache.setMetricsSink(swaggerMetrics);
+      swaggerMetrics.setSwaggerCache(swaggerCache);
+    }
+    return swaggerCache;
   }
 
   @Bean
@@ -111,6 +138,10 @@ public class SpringSwaggerConfig {
     return alternateTypeProvider;
   }
 
+  public TypeMembersProvider defaultTypeMembersProvider() {
+    return typeMembersProvider;
+  }
+
   /**
    * Default response messages set on all api operations
    */
@@ -171,7 +202,14 @@ public class SpringSwaggerConfig {
 
   @Bean
   public SwaggerPluginAdapter swaggerPluginAdapter() {
-    return new SwaggerPluginAdapter(this);
+    SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(this);
+    swaggerPluginAdapter.setDocumentationExecutor(documentationExecutor);
+    swaggerPluginAdapter.setSwaggerCacheSnapshot(swaggerCacheSnapshot);
+    swaggerPluginAdapter.setGeneratedApiDocs(generatedApiDocs);
+    if (null != swaggerMetrics) {
+      swaggerMetrics.setSwaggerPluginAdapter(swaggerPluginAdapter);
+    }
+    return swaggerPluginAdapter;
   }
 
   public ModelProvider defaultModelProvider() {
@@ -199,6 +237,11 @@ public class SpringSwaggerConfig {
     this.alternateTypeProvider = alternateTypeProvider;
   }
 
+  @VisibleForTesting
+  void setTypeMembersProvider(TypeMembersProvider typeMembersProvider) {
+    this.typeMembersProvider = typeMembersProvider;
+  }
+
   @VisibleForTesting
   void setTypeResolver(TypeResolver typeResolver) {
     this.typeResolver = new TypeResolver();
@@ -1,6 +1,8 @@
 package com.mangofactory.swagger.configuration;
 
 import com.fasterxml.classmate.TypeResolver;
+import com.mangofactory.swagger.models.SeenTypes;
+import com.mangofactory.swagger.models.TypeMembersProvider;
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
 import com.wordnik.swagger.model.ResponseMessage;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -23,7 +25,9 @@ public class SwaggerGlobalSettings {
    */
   private Map<RequestMethod, List<ResponseMessage>> globalResponseMessages;
   private TypeResolver typeResolver = new TypeResolver();
+  private TypeMembersProvider typeMembersProvider = new TypeMembersProvider(typeResolver);
   private AlternateTypeProvider alternateTypeProvider;
+  private SeenTypes ignorableTypes = new SeenTypes();
 
   public Set<Class> getIgnorableParameterTypes() {
     return ignorableParameterTypes;
@@ -31,6 +35,14 @@ public class SwaggerGlobalSettings {
 
   public void setIgnorableParameterTypes(Set<Class> ignorableParameterTypes) {
     this.ignorableParameterTypes = ignorableParameterTypes;
+    this.ignorableTypes = SeenTypes.rawTypes(ignorableParameterTypes);
+  }
+
+  /**
+   * @return the ignorable parameter types, seeded once and shared by the model contexts of the swagger group
+   */
+  public SeenTypes getIgnorableTypes() {
+    return ignorableTypes;
   }
 
   public void setAlternateTypeProvider(AlternateTypeProvider alternateTypeProvider) {
@@ -49,6 +61,17 @@ public class SwaggerGlobalSettings {
     return typeResolver;
   }
 
+  /**
+   * @return the members of controllers and models, shared by every swagger group
+   */
+  public TypeMembersProvider getTypeMembersProvider() {
+    return typeMembersProvider;
+  }
+
+  public void setTypeMembersProvider(TypeMembersProvider typeMembersProvider) {
+    this.typeMembersProvider = typeMembersProvider;
+  }
+
   public AlternateTypeProvider getAlternateTypeProvider() {
     return alternateTypeProvider;
   }
@@ -0,0 +1,68 @@
+package com.mangofactory.swagger.controllers;
+
+import com.google.common.base.Splitter;
+import com.mangofactory.swagger.core.SerializedDocument;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static com.google.common.collect.Maps.*;
+
+/**
+ * Picks the content coding to respond with, given an Accept-Encoding request header and the codings on offer.
+ */
+class AcceptEncoding {
+  private static final Splitter CODINGS = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Splitter PARAMETERS = Splitter.on(';').trimResults();
+
+  private AcceptEncoding() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @param acceptEncoding the Accept-Encoding header, may be null
+   * @param available      the compressed codings on offer, most preferred first
+   * @return the available coding with the highest quality value, or identity if none is acceptable
+   */
+  static String preferredEncoding(String acceptEncoding, Collection<String> available) {
+    if (null == acceptEncoding) {
+      return SerializedDocument.IDENTITY;
+    }
+    Map<String, Float> qualities = qualities(acceptEncoding);
+    String preferred = SerializedDocument.IDENTITY;
+    float preferredQuality = 0f;
+    for (String encoding : available) {
+      Float quality = qualities.containsKey(encoding) ? qualities.get(encoding) : qualities.get("*");
+      if (null != quality && quality > preferredQuality) {
+        preferred = encoding;
+        preferredQuality = quality;
+      }
+    }
+    return preferred;
+  }
+
+  private static Map<String, Float> qualities(String acceptEncoding) {
+    Map<String, Float> qualities = newHashMap();
+    for (String coding : CODINGS.split(acceptEncoding)) {
+      float quality = 1f;
+      String name = null;
+      for (String part : PARAMETERS.split(coding)) {
+        if (null == name) {
+          name = part.toLowerCase();
+        } else if (part.startsWith("q=")) {
+          quality = quality(part.substring(2));
+        }
+      }
+      qualities.put(name, quality);
+    }
+    return qualities;
+  }
+
+  private static float quality(String value) {
+    try {
+      return Float.parseFloat(value.trim());
+    } catch (NumberFormatException e) {
+      return 0f;
+    }
+  }
+}
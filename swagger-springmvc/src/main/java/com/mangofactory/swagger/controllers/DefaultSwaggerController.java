@@ -1,11 +1,18 @@
 package com.mangofactory.swagger.controllers;
 
+import com.google.common.base.Splitter;
 import com.mangofactory.swagger.annotations.ApiIgnore;
+import com.mangofactory.swagger.core.ApiListingIndex;
+import com.mangofactory.swagger.core.ApiListingPage;
+import com.mangofactory.swagger.core.SerializedDocument;
+import com.mangofactory.swagger.core.ServedDocument;
 import com.mangofactory.swagger.core.SwaggerCache;
-import com.wordnik.swagger.model.ApiListing;
-import com.wordnik.swagger.model.ResourceListing;
+import com.mangofactory.swagger.core.SwaggerGroupSnapshot;
+import com.mangofactory.swagger.metrics.SwaggerMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,60 +21,234 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.Charset;
 import java.util.Map;
 
 @Controller
 public class DefaultSwaggerController {
 
   public static final String DOCUMENTATION_BASE_PATH = "/api-docs";
+  /**
+   * Serves a whole swagger group, its resource listing and all of its api listings, in a single response
+   */
+  public static final String GROUP_DOCUMENTATION_PATH = DOCUMENTATION_BASE_PATH + "/bulk";
+  private static final String ACCEPT_ENCODING = "Accept-Encoding";
+  private static final String CONTENT_ENCODING = "Content-Encoding";
+  private static final String VARY = "Vary";
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+  private static final String RETRY_AFTER = "Retry-After";
+  private static final String TOTAL_COUNT = "X-Total-Count";
+  private static final int RETRY_AFTER_SECONDS = 5;
+  private static final MediaType JSON_UTF8 = new MediaType("application", "json", Charset.forName("UTF-8"));
 
   @Autowired
   private SwaggerCache swaggerCache;
 
+  @Autowired(required = false)
+  private SwaggerMetrics swaggerMetrics;
+
   @ApiIgnore
-  @RequestMapping(value = {DOCUMENTATION_BASE_PATH}, method = RequestMethod.GET)
+  @RequestMapping(value = {DOCUMENTATION_BASE_PATH}, method = {RequestMethod.GET, RequestMethod.HEAD})
   public
   @ResponseBody
-  ResponseEntity<ResourceListing> getResourceListing(
-      @RequestParam(value = "group",  required = false) String swaggerGroup) {
+  ResponseEntity<byte[]> getResourceListing(
+      @RequestParam(value = "group",  required = false) String swaggerGroup,
+      HttpServletRequest request, HttpServletResponse response) {
 
-    return getSwaggerResourceListing(swaggerGroup);
+    long start = System.nanoTime();
+    String groupName = null == swaggerGroup ? defaultSwaggerGroup() : swaggerGroup;
+    return served(groupName, start, getSwaggerResourceListing(swaggerGroup, request, response));
   }
 
   @ApiIgnore
-  @RequestMapping(value = {DOCUMENTATION_BASE_PATH + "/{swaggerGroup}/{apiDeclaration}"}, method = RequestMethod.GET)
+  @RequestMapping(value = {DOCUMENTATION_BASE_PATH + "/{swaggerGroup}/{apiDeclaration}"},
+          method = {RequestMethod.GET, RequestMethod.HEAD})
   public
   @ResponseBody
-  ResponseEntity<ApiListing> getApiListing(@PathVariable String swaggerGroup, @PathVariable String apiDeclaration) {
-    return getSwaggerApiListing(swaggerGroup, apiDeclaration);
+  ResponseEntity<byte[]> getApiListing(@PathVariable String swaggerGroup, @PathVariable String apiDeclaration,
+      @RequestParam(value = "path", required = false) String pathPrefix,
+      @RequestParam(value = "offset", required = false) Integer offset,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      HttpServletRequest request, HttpServletResponse response) {
+
+    long start = System.nanoTime();
+    if (null == pathPrefix && null == offset && null == limit) {
+      return served(swaggerGroup, start, getSwaggerApiListing(swaggerGroup, apiDeclaration, request, response));
+    }
+    return served(swaggerGroup, start,
+            getSwaggerApiListingPage(swaggerGroup, apiDeclaration, pathPrefix, offset, limit, request, response));
   }
 
-  private ResponseEntity<ApiListing> getSwaggerApiListing(String swaggerGroup, String apiDeclaration) {
-    ResponseEntity<ApiListing> responseEntity = new ResponseEntity<ApiListing>(HttpStatus.NOT_FOUND);
-    Map<String, ApiListing> apiListingMap = swaggerCache.getSwaggerApiListingMap().get(swaggerGroup);
-    if (null != apiListingMap) {
-      ApiListing apiListing = apiListingMap.get(apiDeclaration);
-      if (null != apiListing) {
-        responseEntity = new ResponseEntity<ApiListing>(apiListing, HttpStatus.OK);
-      }
+  /**
+   * Serves the api descriptions of the api listing whose path starts with the prefix, paged, along with only the
+   * models they reference. The number of matching api descriptions is returned in the X-Total-Count header. Unlike
+   * whole documents, pages are written out on request: a page matching a conditional request is not written out at
+   * all, and only the encoding sent is compressed.
+   */
+  private ResponseEntity<byte[]> getSwaggerApiListingPage(String swaggerGroup, String apiDeclaration,
+                                                          String pathPrefix, Integer offset, Integer limit,
+                                                          HttpServletRequest request,
+                                                          HttpServletResponse response) {
+    if ((null != offset && offset < 0) || (null != limit && limit < 1)) {
+      return new ResponseEntity<byte[]>(HttpStatus.BAD_REQUEST);
+    }
+    ApiListingIndex apiListingIndex = swaggerCache.getApiListingIndex(swaggerGroup, apiDeclaration);
+    if (null == apiListingIndex) {
+      return notAvailable();
+    }
+    ApiListingPage page = apiListingIndex.select(pathPrefix,
+            null == offset ? 0 : offset,
+            null == limit ? Integer.MAX_VALUE : limit);
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(TOTAL_COUNT, String.valueOf(apiListingIndex.count(pathPrefix)));
+    return documentResponse(page, headers, request, response);
+  }
+
+  @ApiIgnore
+  @RequestMapping(value = {GROUP_DOCUMENTATION_PATH}, method = {RequestMethod.GET, RequestMethod.HEAD})
+  public
+  @ResponseBody
+  ResponseEntity<byte[]> getSwaggerGroup(
+      @RequestParam(value = "group",  required = false) String swaggerGroup,
+      HttpServletRequest request, HttpServletResponse response) {
+
+    long start = System.nanoTime();
+    String groupName = null == swaggerGroup ? defaultSwaggerGroup() : swaggerGroup;
+    return served(groupName, start, getSerializedSwaggerGroup(groupName, request, response));
+  }
+
+  private ResponseEntity<byte[]> getSerializedSwaggerGroup(String groupName, HttpServletRequest request,
+                                                           HttpServletResponse response) {
+    ResponseEntity<byte[]> responseEntity = notAvailable();
+    SerializedDocument group = null == groupName ? null : swaggerCache.getSerializedSwaggerGroup(groupName);
+    if (null != group) {
+      responseEntity = documentResponse(group, request, response);
+    }
+    return responseEntity;
+  }
+
+  private ResponseEntity<byte[]> getSwaggerApiListing(String swaggerGroup, String apiDeclaration,
+                                                      HttpServletRequest request, HttpServletResponse response) {
+    ResponseEntity<byte[]> responseEntity = notAvailable();
+    SerializedDocument apiListing = swaggerCache.getSerializedApiListing(swaggerGroup, apiDeclaration);
+    if (null != apiListing) {
+      responseEntity = documentResponse(apiListing, request, response);
     }
     return responseEntity;
   }
 
-  private ResponseEntity<ResourceListing> getSwaggerResourceListing(String swaggerGroup) {
-    ResponseEntity<ResourceListing> responseEntity = new ResponseEntity<ResourceListing>(HttpStatus.NOT_FOUND);
-    ResourceListing resourceListing = null;
+  private ResponseEntity<byte[]> getSwaggerResourceListing(String swaggerGroup, HttpServletRequest request,
+                                                           HttpServletResponse response) {
+    ResponseEntity<byte[]> responseEntity = notAvailable();
+    SwaggerGroupSnapshot snapshot;
 
     if (null == swaggerGroup) {
-      resourceListing = swaggerCache.getSwaggerApiResourceListingMap().values().iterator().next();
+      snapshot = swaggerCache.getDefaultSwaggerGroup();
     } else {
-      if (swaggerCache.getSwaggerApiResourceListingMap().containsKey(swaggerGroup)) {
-        resourceListing = swaggerCache.getSwaggerApiResourceListingMap().get(swaggerGroup);
-      }
+      snapshot = swaggerCache.getSwaggerGroup(swaggerGroup);
     }
-    if (null != resourceListing) {
-      responseEntity = new ResponseEntity<ResourceListing>(resourceListing, HttpStatus.OK);
+    if (null != snapshot && null != snapshot.getSerializedResourceListing()) {
+      responseEntity = documentResponse(snapshot.getSerializedResourceListing(), request, response);
     }
     return responseEntity;
   }
+
+  /**
+   * @return the first swagger group listed by the swagger cache, which is served when no group is asked for, or null
+   * if there are none
+   */
+  private String defaultSwaggerGroup() {
+    Map<String, SwaggerGroupSnapshot> swaggerGroups = swaggerCache.getSwaggerGroups();
+    return swaggerGroups.isEmpty() ? null : swaggerGroups.keySet().iterator().next();
+  }
+
+  private ResponseEntity<byte[]> served(String swaggerGroup, long start, ResponseEntity<byte[]> responseEntity) {
+    if (null != swaggerMetrics) {
+      int bytes = null == responseEntity.getBody() ? 0 : responseEntity.getBody().length;
+      swaggerMetrics.documentServed(swaggerGroup, responseEntity.getStatusCode().value(), bytes,
+              System.nanoTime() - start);
+    }
+    return responseEntity;
+  }
+
+  /**
+   * A document that is not cached yet may still be produced by a documentation build running in the background, in
+   * which case the client is asked to come back later rather than told the document does not exist.
+   */
+  private ResponseEntity<byte[]> notAvailable() {
+    if (swaggerCache.isBuilding()) {
+      HttpHeaders headers = new HttpHeaders();
+      headers.set(RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+      return new ResponseEntity<byte[]>(headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    return new ResponseEntity<byte[]>(HttpStatus.NOT_FOUND);
+  }
+
+  /**
+   * Serves the document in the best encoding the client accepts. HEAD requests are answered from the content length
+   * without a body. The length is also set directly on the servlet response for HEAD, as the container's body-less
+   * response wrapper would otherwise reset it to zero.
+   *
+   * Conditional requests (If-None-Match, If-Modified-Since) matching the document are answered with a 304.
+   */
+  private ResponseEntity<byte[]> documentResponse(ServedDocument document, HttpServletRequest request,
+                                                  HttpServletResponse response) {
+    return documentResponse(document, new HttpHeaders(), request, response);
+  }
+
+  private ResponseEntity<byte[]> documentResponse(ServedDocument document, HttpHeaders headers,
+                                                  HttpServletRequest request, HttpServletResponse response) {
+    String encoding = AcceptEncoding.preferredEncoding(request.getHeader(ACCEPT_ENCODING), document.getEncodings());
+    headers.set(VARY, ACCEPT_ENCODING);
+    String eTag = document.getETag(encoding);
+    headers.setETag(eTag);
+    headers.setLastModified(document.getLastModified());
+    if (notModified(request, eTag, document.getLastModified())) {
+      return new ResponseEntity<byte[]>(headers, HttpStatus.NOT_MODIFIED);
+    }
+    headers.setContentType(JSON_UTF8);
+    headers.setContentLength(document.getContentLength(encoding));
+    if (!SerializedDocument.IDENTITY.equals(encoding)) {
+      headers.set(CONTENT_ENCODING, encoding);
+    }
+    if (RequestMethod.HEAD.name().equals(request.getMethod())) {
+      response.setContentLength(document.getContentLength(encoding));
+      return new ResponseEntity<byte[]>(headers, HttpStatus.OK);
+    }
+    return new ResponseEntity<byte[]>(document.getContent(encoding), headers, HttpStatus.OK);
+  }
+
+  /**
+   * If-None-Match takes precedence over If-Modified-Since, as per RFC 2616 section 14.26.
+   */
+  private boolean notModified(HttpServletRequest request, String eTag, long lastModified) {
+    String ifNoneMatch = request.getHeader(IF_NONE_MATCH);
+    if (null != ifNoneMatch) {
+      return anyETagMatches(ifNoneMatch, eTag);
+    }
+    long ifModifiedSince = ifModifiedSince(request);
+    return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+  }
+
+  private boolean anyETagMatches(String ifNoneMatch, String eTag) {
+    for (String candidate : Splitter.on(',').trimResults().omitEmptyStrings().split(ifNoneMatch)) {
+      //If-None-Match uses the weak comparison function
+      String opaqueTag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+      if ("*".equals(opaqueTag) || eTag.equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private long ifModifiedSince(HttpServletRequest request) {
+    try {
+      return request.getDateHeader(IF_MODIFIED_SINCE);
+    } catch (IllegalArgumentException e) {
+      return -1;
+    }
+  }
 }
@@ -0,0 +1,346 @@
+package com.mangofactory.swagger.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Lists.*;
+import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
+
+/**
+ * The api descriptions of a serialized ApiListing along with the models each of them references, directly or through
+ * other models, so that a page of a large api listing can be served with only the models its operations need without
+ * walking the models on every request.
+ *
+ * The index is built the first time a page is asked for. It only records where each api description and model sits
+ * in the serialized json, and pages are copied out of the json as it is served. It works on the json rather than on
+ * the ApiListing, as api listings read back from json by swagger-core do not keep their model references.
+ */
+public class ApiListingIndex {
+  //Where swagger 1.2 documents name a model: "type", "$ref", "items": {"$ref"}, "responseModel" and "subTypes"
+  private static final Set<String> REFERENCE_FIELDS = ImmutableSet.of("type", "$ref", "responseModel", "subTypes");
+  //Container types may be rendered as List[Model], generic models as Model«Parameter» which is a model name in itself
+  private static final Splitter TYPE_NAMES = Splitter.on(CharMatcher.anyOf("[]")).trimResults().omitEmptyStrings();
+  private static final JsonFactory JSON = new JsonFactory();
+
+  private final SerializedDocument apiListing;
+  //Built on first use, a benign race at worst indexes the same json twice
+  private volatile Layout layout;
+
+  public ApiListingIndex(SerializedDocument apiListing) {
+    this.apiListing = apiListing;
+  }
+
+  /**
+   * @return the names of the models of the api listing
+   */
+  Set<String> getModelNames() {
+    return layout().models.keySet();
+  }
+
+  /**
+   * @param pathPrefix only counts the api descriptions whose path starts with this prefix, null to count them all
+   * @return the number of matching api descriptions
+   */
+  public int count(String pathPrefix) {
+    int count = 0;
+    for (ApiDescription apiDescription : layout().apiDescriptions) {
+      if (apiDescription.matches(pathPrefix)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * @param pathPrefix only selects the api descriptions whose path starts with this prefix, null to select them all
+   * @param offset     the number of matching api descriptions to skip
+   * @param limit      the maximum number of api descriptions to select
+   * @return the api listing holding the selected api descriptions and only the models they reference, written out
+   * when its content is first asked for
+   */
+  public ApiListingPage select(String pathPrefix, int offset, int limit) {
+    return new ApiListingPage(this, apiListing, pathPrefix, offset, limit);
+  }
+
+  /**
+   * Copies the api listing json, replacing its api descriptions and models with the selected ones.
+   */
+  byte[] render(String pathPrefix, int offset, int limit) {
+    Layout layout = layout();
+    List<ApiDescription> selected = newArrayList();
+    Set<String> referenced = newHashSet();
+    int matched = 0;
+    for (ApiDescription apiDescription : layout.apiDescriptions) {
+      if (selected.size() >= limit) {
+        break;
+      }
+      if (apiDescription.matches(pathPrefix) && matched++ >= offset) {
+        selected.add(apiDescription);
+        referenced.addAll(apiDescription.modelReferences);
+      }
+    }
+    byte[] json = apiListing.getContent();
+    ByteArrayOutputStream page = new ByteArrayOutputStream(json.length);
+    int copied = 0;
+    for (Range replaced : layout.replacedRanges()) {
+      page.write(json, copied, replaced.start - copied);
+      if (replaced == layout.apis) {
+        writeAll(page, json, '[', selected, ']');
+      } else {
+        List<Range> models = newArrayList();
+        for (Map.Entry<String, Range> model : layout.models.entrySet()) {
+          if (referenced.contains(model.getKey())) {
+            models.add(model.getValue());
+          }
+        }
+        writeAll(page, json, '{', models, '}');
+      }
+      copied = replaced.end;
+    }
+    page.write(json, copied, json.length - copied);
+    return page.toByteArray();
+  }
+
+  private Layout layout() {
+    Layout indexed = layout;
+    if (null == indexed) {
+      indexed = new Layout(apiListing.getContent());
+      layout = indexed;
+    }
+    return indexed;
+  }
+
+  private static void writeAll(ByteArrayOutputStream out, byte[] json, char open, List<? extends Range> ranges,
+                               char close) {
+    out.write(open);
+    for (int index = 0; index < ranges.size(); index++) {
+      if (index > 0) {
+        out.write(',');
+      }
+      out.write(json, ranges.get(index).start, ranges.get(index).end - ranges.get(index).start);
+    }
+    out.write(close);
+  }
+
+  private static class Range {
+    final int start;
+    final int end;
+
+    Range(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  private static class ApiDescription extends Range {
+    final String path;
+    //The names found in its operations until the layout is complete, then the models it needs
+    Set<String> modelReferences;
+
+    ApiDescription(int start, int end, String path, Set<String> modelReferences) {
+      super(start, end);
+      this.path = path;
+      this.modelReferences = modelReferences;
+    }
+
+    boolean matches(String pathPrefix) {
+      return null == pathPrefix || path.startsWith(pathPrefix);
+    }
+  }
+
+  /**
+   * Where the api descriptions and the models sit in the json: the "apis" array, the "models" object and each of
+   * their entries, a model entry spanning its name and its value. Entries that are not json objects are neither api
+   * descriptions nor models and are left out.
+   */
+  private static class Layout {
+    private final byte[] json;
+    private final List<ApiDescription> apiDescriptions = newArrayList();
+    private final Map<String, Range> models = newLinkedHashMap();
+    private final List<Range> replacedRanges = newArrayList();
+    private Range apis;
+
+    Layout(byte[] json) {
+      this.json = json;
+      Map<String, Set<String>> modelDependencies = newHashMap();
+      try {
+        JsonParser parser = JSON.createParser(json);
+        try {
+          if (next(parser) == JsonToken.START_OBJECT) {
+            while (next(parser) == JsonToken.FIELD_NAME) {
+              String field = parser.getCurrentName();
+              int start = valueStart(parser);
+              if ("apis".equals(field) && parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                readApiDescriptions(parser);
+                apis = new Range(start, end(parser));
+                replacedRanges.add(apis);
+              } else if ("models".equals(field) && parser.getCurrentToken() == JsonToken.START_OBJECT) {
+                readModels(parser, modelDependencies);
+                replacedRanges.add(new Range(start, end(parser)));
+              } else {
+                parser.skipChildren();
+              }
+            }
+          }
+        } finally {
+          parser.close();
+        }
+      } catch (IOException e) {
+        throw new IllegalArgumentException("Unable to index the api listing json", e);
+      }
+      for (Set<String> dependencies : modelDependencies.values()) {
+        dependencies.retainAll(models.keySet());
+      }
+      for (ApiDescription apiDescription : apiDescriptions) {
+        apiDescription.modelReferences.retainAll(models.keySet());
+        apiDescription.modelReferences = closure(apiDescription.modelReferences, modelDependencies);
+      }
+    }
+
+    /**
+     * @return the ranges of the "apis" array and the "models" object, those present, in the order they appear
+     */
+    List<Range> replacedRanges() {
+      return replacedRanges;
+    }
+
+    private void readApiDescriptions(JsonParser parser) throws IOException {
+      while (next(parser) != JsonToken.END_ARRAY) {
+        int start = skipSeparators(offset(parser.getTokenLocation()));
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+          parser.skipChildren();
+          continue;
+        }
+        String path = "";
+        Set<String> references = newHashSet();
+        while (next(parser) == JsonToken.FIELD_NAME) {
+          String field = parser.getCurrentName();
+          next(parser);
+          if ("path".equals(field) && parser.getCurrentToken() == JsonToken.VALUE_STRING) {
+            path = parser.getText();
+          } else if ("operations".equals(field)) {
+            addReferences(parser, false, references);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        apiDescriptions.add(new ApiDescription(start, end(parser), path, references));
+      }
+    }
+
+    private void readModels(JsonParser parser, Map<String, Set<String>> modelDependencies) throws IOException {
+      while (next(parser) == JsonToken.FIELD_NAME) {
+        int start = skipSeparators(offset(parser.getTokenLocation()));
+        String name = parser.getCurrentName();
+        next(parser);
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+          parser.skipChildren();
+          continue;
+        }
+        Set<String> references = newHashSet();
+        addReferences(parser, false, references);
+        models.put(name, new Range(start, end(parser)));
+        modelDependencies.put(name, references);
+      }
+    }
+
+    /**
+     * Moves the parser from a field name onto its value.
+     *
+     * @return the offset at which the value starts. Older Jackson versions report the location of the field name for
+     * its value, the value then starts where the parser stood once it had read the name.
+     */
+    private int valueStart(JsonParser parser) throws IOException {
+      int name = offset(parser.getTokenLocation());
+      int afterName = offset(parser.getCurrentLocation());
+      next(parser);
+      int value = offset(parser.getTokenLocation());
+      return value > name ? value : skipSeparators(afterName);
+    }
+
+    /**
+     * Older Jackson versions locate a token following a comma at the comma.
+     */
+    private int skipSeparators(int offset) {
+      int start = offset;
+      while (start < json.length && (json[start] == ',' || json[start] == ':'
+              || Character.isWhitespace(json[start]))) {
+        start++;
+      }
+      return start;
+    }
+  }
+
+  /**
+   * @return the offset just past the object or array the parser just left
+   */
+  private static int end(JsonParser parser) {
+    return offset(parser.getTokenLocation()) + 1;
+  }
+
+  /**
+   * Parsers of byte arrays count bytes, which older Jackson versions report as the character offset.
+   */
+  private static int offset(JsonLocation location) {
+    return (int) (location.getByteOffset() < 0 ? location.getCharOffset() : location.getByteOffset());
+  }
+
+  private static JsonToken next(JsonParser parser) throws IOException {
+    JsonToken token = parser.nextToken();
+    if (null == token) {
+      throw new JsonParseException("Unexpected end of the api listing json", parser.getCurrentLocation());
+    }
+    return token;
+  }
+
+  /**
+   * Collects the type names of the value the parser is on, as named by the reference fields within it.
+   */
+  private static void addReferences(JsonParser parser, boolean referenceField, Set<String> references)
+          throws IOException {
+    JsonToken token = parser.getCurrentToken();
+    if (token == JsonToken.START_OBJECT) {
+      while (next(parser) == JsonToken.FIELD_NAME) {
+        String field = parser.getCurrentName();
+        next(parser);
+        addReferences(parser, REFERENCE_FIELDS.contains(field), references);
+      }
+    } else if (token == JsonToken.START_ARRAY) {
+      while (next(parser) != JsonToken.END_ARRAY) {
+        addReferences(parser, referenceField, references);
+      }
+    } else if (token == JsonToken.VALUE_STRING && referenceField) {
+      for (String typeName : TYPE_NAMES.split(parser.getText())) {
+        references.add(typeName);
+      }
+    }
+  }
+
+  private static Set<String> closure(Set<String> references, Map<String, Set<String>> modelDependencies) {
+    Set<String> closure = newHashSet(references);
+    Deque<String> pending = new ArrayDeque<String>(references);
+    while (!pending.isEmpty()) {
+      for (String dependency : modelDependencies.get(pending.pop())) {
+        if (closure.add(dependency)) {
+          pending.push(dependency);
+        }
+      }
+    }
+    return ImmutableSet.copyOf(closure);
+  }
+}
@@ -0,0 +1,24 @@
+package com.mangofactory.swagger.core;
+
+import com.wordnik.swagger.model.ApiListing;
+
+import java.util.Set;
+
+/**
+ * Generates the ApiListing of a single api declaration on demand, for swagger groups whose api listings are not
+ * built up front.
+ *
+ * @see com.mangofactory.swagger.scanners.ApiListingScanner
+ */
+public interface ApiListingLoader {
+  /**
+   * @param apiDeclaration the api declaration (resource group name) as it appears in the api listing path
+   * @return the generated ApiListing or null if the swagger group has no such api declaration
+   */
+  ApiListing load(String apiDeclaration);
+
+  /**
+   * @return every api declaration the loader can generate
+   */
+  Set<String> getApiDeclarations();
+}
@@ -0,0 +1,84 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.*;
+
+/**
+ * A page of an api listing as selected through its index. Nothing is written out until the content is asked for, so
+ * a conditional request for an unchanged page is answered from its entity tag alone, and only the encoding actually
+ * sent is compressed.
+ *
+ * A page is a view of the api listing it was selected from: its entity tags are derived from those of the api listing
+ * and the selection, and it was last modified when the api listing was. Pages are built per request and are not
+ * thread safe.
+ */
+public class ApiListingPage implements ServedDocument {
+  private final ApiListingIndex apiListingIndex;
+  private final SerializedDocument apiListing;
+  private final String pathPrefix;
+  private final int offset;
+  private final int limit;
+  //Rendered on demand, keyed by encoding
+  private final Map<String, byte[]> content = newHashMap();
+
+  ApiListingPage(ApiListingIndex apiListingIndex, SerializedDocument apiListing, String pathPrefix, int offset,
+                 int limit) {
+    this.apiListingIndex = apiListingIndex;
+    this.apiListing = apiListing;
+    this.pathPrefix = pathPrefix;
+    this.offset = offset;
+    this.limit = limit;
+  }
+
+  /**
+   * @return the compressed content codings of the api listing, which are offered for its pages as well
+   */
+  @Override
+  public Set<String> getEncodings() {
+    return apiListing.getEncodings();
+  }
+
+  @Override
+  public String getETag(String encoding) {
+    Hasher hasher = Hashing.sha1().newHasher()
+            .putString(apiListing.getETag(encoding), Charsets.UTF_8)
+            .putBoolean(null != pathPrefix)
+            .putString(null == pathPrefix ? "" : pathPrefix, Charsets.UTF_8)
+            .putInt(offset)
+            .putInt(limit);
+    return String.format("\"%s\"", hasher.hash());
+  }
+
+  @Override
+  public long getLastModified() {
+    return apiListing.getLastModified();
+  }
+
+  public byte[] getContent() {
+    return getContent(SerializedDocument.IDENTITY);
+  }
+
+  @Override
+  public byte[] getContent(String encoding) {
+    String representation = getEncodings().contains(encoding) ? encoding : SerializedDocument.IDENTITY;
+    byte[] rendered = content.get(representation);
+    if (null == rendered) {
+      rendered = SerializedDocument.IDENTITY.equals(representation)
+              ? apiListingIndex.render(pathPrefix, offset, limit)
+              : SerializedDocument.compress(getContent(), representation);
+      content.put(representation, rendered);
+    }
+    return rendered;
+  }
+
+  @Override
+  public int getContentLength(String encoding) {
+    return getContent(encoding).length;
+  }
+}
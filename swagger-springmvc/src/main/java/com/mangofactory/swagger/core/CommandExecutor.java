@@ -6,14 +6,39 @@ import java.util.List;
 
 //T - result type, typically Map<String, Object>
 public class CommandExecutor<T, C> {
+  private final CommandProfile profile;
+
+  public CommandExecutor() {
+    this(null);
+  }
+
+  /**
+   * @param profile records the time and allocations of every command executed, null not to profile
+   */
+  public CommandExecutor(CommandProfile profile) {
+    this.profile = profile;
+  }
 
   public T execute(List<? extends Command<C>> commands, CommandContext<T> context) {
     if (null != commands) {
       for (Command command : commands) {
-        command.execute(context);
+        if (null == profile) {
+          command.execute(context);
+        } else {
+          profile(command, context);
+        }
       }
       return context.getResult();
     }
     return null;
   }
+
+  private void profile(Command command, CommandContext<T> context) {
+    CommandProfile.Invocation invocation = profile.start();
+    try {
+      command.execute(context);
+    } finally {
+      profile.finish(invocation, command.getClass());
+    }
+  }
 }
@@ -0,0 +1,222 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.collect.Ordering;
+import com.google.common.primitives.Longs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invocation count, self, total and max time and allocated bytes of every command run by a profiling CommandExecutor,
+ * per command class. Commands running other commands, like the ApiDescriptionReader, include the time of the commands
+ * they run in their total time only: self time and allocated bytes exclude them, so that entries ordered by self time
+ * put the readers doing the work first rather than the readers wrapping them. Allocated bytes are only measured on
+ * JVMs whose ThreadMXBean supports it and are reported as -1 otherwise.
+ *
+ * A profile may be recorded into from several threads, as resource groups can be scanned concurrently. Nested
+ * commands run on the thread of the command running them.
+ */
+public class CommandProfile {
+  private static final Logger log = LoggerFactory.getLogger(CommandProfile.class);
+  private static final AllocationMeter ALLOCATION_METER = AllocationMeter.create();
+  private static final Ordering<Entry> BY_SELF_NANOS = new Ordering<Entry>() {
+    @Override
+    public int compare(Entry left, Entry right) {
+      return Longs.compare(right.getSelfNanos(), left.getSelfNanos());
+    }
+  };
+
+  private final ConcurrentMap<Class<?>, Entry> entries = new ConcurrentHashMap<Class<?>, Entry>();
+  private final ThreadLocal<Invocation> currentInvocation = new ThreadLocal<Invocation>();
+
+  /**
+   * Starts measuring a command on the current thread, nested in the command the thread is running if any
+   */
+  Invocation start() {
+    Invocation invocation = new Invocation(currentInvocation.get());
+    currentInvocation.set(invocation);
+    return invocation;
+  }
+
+  /**
+   * Stops measuring the command and records it, its time and allocations are taken off the command running it
+   */
+  void finish(Invocation invocation, Class<?> commandClass) {
+    long nanos = System.nanoTime() - invocation.startNanos;
+    long allocated = invocation.allocatedBefore < 0 ? -1 : ALLOCATION_METER.allocatedBytes() - invocation.allocatedBefore;
+    if (null == invocation.parent) {
+      currentInvocation.remove();
+    } else {
+      currentInvocation.set(invocation.parent);
+      invocation.parent.nestedNanos += nanos;
+      invocation.parent.nestedAllocatedBytes += Math.max(allocated, 0);
+    }
+    record(commandClass, nanos - invocation.nestedNanos, nanos,
+            allocated < 0 ? -1 : allocated - invocation.nestedAllocatedBytes);
+  }
+
+  private void record(Class<?> commandClass, long selfNanos, long nanos, long allocatedBytes) {
+    Entry entry = entries.get(commandClass);
+    if (null == entry) {
+      Entry created = new Entry(commandClass);
+      entry = entries.putIfAbsent(commandClass, created);
+      if (null == entry) {
+        entry = created;
+      }
+    }
+    entry.record(selfNanos, nanos, allocatedBytes);
+  }
+
+  /**
+   * @return an entry per command class, the one that took the most time itself first
+   */
+  public List<Entry> getEntries() {
+    return BY_SELF_NANOS.sortedCopy(entries.values());
+  }
+
+  /**
+   * @return the command class' entry or null if no command of that class ran
+   */
+  public Entry getEntry(Class<?> commandClass) {
+    return entries.get(commandClass);
+  }
+
+  /**
+   * @return the entries as a table, one command class per line
+   */
+  @Override
+  public String toString() {
+    StringBuilder report = new StringBuilder(String.format("%-90s %10s %10s %10s %10s %14s",
+            "Command", "Count", "Self ms", "Total ms", "Max ms", "Allocated KB"));
+    for (Entry entry : getEntries()) {
+      report.append(String.format("%n%-90s %10d %10d %10d %10d %14d", entry.getCommandClass().getName(),
+              entry.getCount(), millis(entry.getSelfNanos()), millis(entry.getTotalNanos()),
+              millis(entry.getMaxNanos()),
+              entry.getAllocatedBytes() < 0 ? -1 : entry.getAllocatedBytes() / 1024));
+    }
+    return report.toString();
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+
+  public static class Entry {
+    private final Class<?> commandClass;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong selfNanos = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+
+    Entry(Class<?> commandClass) {
+      this.commandClass = commandClass;
+    }
+
+    void record(long self, long nanos, long allocated) {
+      count.incrementAndGet();
+      selfNanos.addAndGet(self);
+      totalNanos.addAndGet(nanos);
+      long max = maxNanos.get();
+      while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+        max = maxNanos.get();
+      }
+      if (allocated < 0) {
+        allocatedBytes.set(-1);
+      } else if (allocatedBytes.get() >= 0) {
+        allocatedBytes.addAndGet(allocated);
+      }
+    }
+
+    public Class<?> getCommandClass() {
+      return commandClass;
+    }
+
+    public long getCount() {
+      return count.get();
+    }
+
+    /**
+     * @return the time spent in the commands of this class, less the time of the commands they ran
+     */
+    public long getSelfNanos() {
+      return selfNanos.get();
+    }
+
+    /**
+     * @return the time spent in the commands of this class, including the commands they ran
+     */
+    public long getTotalNanos() {
+      return totalNanos.get();
+    }
+
+    public long getMaxNanos() {
+      return maxNanos.get();
+    }
+
+    /**
+     * @return the bytes allocated by the commands of this class, less the bytes allocated by the commands they ran,
+     * -1 if the JVM does not measure allocations
+     */
+    public long getAllocatedBytes() {
+      return allocatedBytes.get();
+    }
+  }
+
+  /**
+   * A command being measured, confined to the thread running it
+   */
+  static class Invocation {
+    private final Invocation parent;
+    private final long allocatedBefore = ALLOCATION_METER.allocatedBytes();
+    private final long startNanos = System.nanoTime();
+    private long nestedNanos;
+    private long nestedAllocatedBytes;
+
+    Invocation(Invocation parent) {
+      this.parent = parent;
+    }
+  }
+
+  /**
+   * Per thread allocation counters are a HotSpot extension of the ThreadMXBean, so they are looked up once and
+   * reading them is skipped altogether on JVMs that lack them.
+   */
+  private static class AllocationMeter {
+    private final com.sun.management.ThreadMXBean threadMXBean;
+
+    private AllocationMeter(com.sun.management.ThreadMXBean threadMXBean) {
+      this.threadMXBean = threadMXBean;
+    }
+
+    static AllocationMeter create() {
+      try {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+          com.sun.management.ThreadMXBean hotSpotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+          if (hotSpotThreadMXBean.isThreadAllocatedMemorySupported()
+                  && hotSpotThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return new AllocationMeter(hotSpotThreadMXBean);
+          }
+        }
+      } catch (LinkageError e) {
+        log.debug("Allocated bytes are not measured on this JVM", e);
+      }
+      return new AllocationMeter(null);
+    }
+
+    long allocatedBytes() {
+      if (null == threadMXBean) {
+        return -1;
+      }
+      return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+  }
+}
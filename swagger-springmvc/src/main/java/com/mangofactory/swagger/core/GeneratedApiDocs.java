@@ -0,0 +1,154 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.collect.Lists.*;
+import static com.google.common.collect.Maps.*;
+
+/**
+ * Api docs generated at build time, served without scanning the application at all.
+ *
+ * The documentation is laid out as one json file per document, as written by the api docs generator:
+ * <pre>
+ *   api-docs.index                   the swagger groups and api declarations, one per line, in order
+ *   {swaggerGroup}.json              the resource listing of each swagger group
+ *   {swaggerGroup}/{apiDeclaration}.json  the api listings
+ * </pre>
+ * The documents are served as last modified when the index was written, which is the end of the build that generated
+ * them.
+ *
+ * Define one as a bean, pointing at where the generated files were packaged, to serve them e.g.
+ * <code>@Bean public GeneratedApiDocs generatedApiDocs() { return new GeneratedApiDocs(new
+ * ClassPathResource("api-docs/")); }</code>
+ */
+public class GeneratedApiDocs {
+  public static final String INDEX = "api-docs.index";
+  private static final Logger log = LoggerFactory.getLogger(GeneratedApiDocs.class);
+  private static final String JSON = ".json";
+  private static final char SEPARATOR = '/';
+
+  private final Resource location;
+
+  /**
+   * @param location the directory holding the generated files, must end with a '/'
+   */
+  public GeneratedApiDocs(Resource location) {
+    this.location = location;
+  }
+
+  /**
+   * Publishes every generated swagger group to the cache.
+   *
+   * @throws IllegalStateException if the generated files cannot be read
+   */
+  public void load(SwaggerCache swaggerCache) {
+    Map<String, SwaggerGroupSnapshot> swaggerGroups = newLinkedHashMap();
+    try {
+      Map<String, List<String>> index = readIndex();
+      long lastModified = lastModified();
+      for (Map.Entry<String, List<String>> group : index.entrySet()) {
+        Map<String, byte[]> apiListings = newLinkedHashMap();
+        for (String apiDeclaration : group.getValue()) {
+          apiListings.put(apiDeclaration, read(group.getKey() + SEPARATOR + apiDeclaration + JSON));
+        }
+        swaggerGroups.put(group.getKey(), SwaggerGroupSnapshot.fromJson(read(group.getKey() + JSON), apiListings,
+                lastModified));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read the generated api docs at " + location, e);
+    }
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.entrySet()) {
+      swaggerCache.addSwaggerGroup(entry.getKey(), entry.getValue());
+    }
+    log.info("Loaded {} generated swagger groups from {}", swaggerGroups.size(), location);
+  }
+
+  /**
+   * Writes the contents of the cache in the layout read by load. Api listings loaded on demand are generated first,
+   * as the resource listings written point to every one of them.
+   *
+   * @param swaggerCache the populated cache
+   * @param directory    the directory to write to, created if necessary
+   */
+  public static void write(SwaggerCache swaggerCache, File directory) throws IOException {
+    for (String swaggerGroup : swaggerCache.getSwaggerGroups().keySet()) {
+      swaggerCache.getSerializedSwaggerGroup(swaggerGroup);
+    }
+    List<String> index = newArrayList();
+    for (Map.Entry<String, SwaggerGroupSnapshot> group : swaggerCache.getSwaggerGroups().entrySet()) {
+      String swaggerGroup = group.getKey();
+      SerializedDocument resourceListing = group.getValue().getSerializedResourceListing();
+      if (null == resourceListing) {
+        throw new IllegalStateException("Swagger group " + swaggerGroup + " has no resource listing");
+      }
+      index.add(swaggerGroup);
+      write(resourceListing, new File(directory, swaggerGroup + JSON));
+      for (Map.Entry<String, SerializedDocument> apiListing : group.getValue().getSerializedApiListings().entrySet()) {
+        index.add(swaggerGroup + SEPARATOR + apiListing.getKey());
+        write(apiListing.getValue(), new File(directory, swaggerGroup + SEPARATOR + apiListing.getKey() + JSON));
+      }
+    }
+    Files.write(Joiner.on('\n').join(index) + '\n', new File(directory, INDEX), Charsets.UTF_8);
+  }
+
+  private static void write(SerializedDocument document, File file) throws IOException {
+    Files.createParentDirs(file);
+    Files.write(document.getContent(), file);
+  }
+
+  private Map<String, List<String>> readIndex() throws IOException {
+    Map<String, List<String>> index = newLinkedHashMap();
+    String lines = new String(read(INDEX), Charsets.UTF_8);
+    for (String line : Splitter.on('\n').trimResults().omitEmptyStrings().split(lines)) {
+      int separator = line.indexOf(SEPARATOR);
+      if (separator < 0) {
+        index.put(line, new ArrayList<String>());
+      } else {
+        String swaggerGroup = line.substring(0, separator);
+        if (!index.containsKey(swaggerGroup)) {
+          throw new IOException("Api declaration " + line + " is listed before its swagger group in " + INDEX);
+        }
+        index.get(swaggerGroup).add(line.substring(separator + 1));
+      }
+    }
+    return index;
+  }
+
+  /**
+   * @return when the index was written, or now if the location cannot tell e.g. for some class path resources
+   */
+  private long lastModified() {
+    try {
+      long lastModified = location.createRelative(INDEX).lastModified();
+      if (lastModified > 0) {
+        return lastModified;
+      }
+    } catch (IOException e) {
+      log.debug("No modification time available for {}", location);
+    }
+    return System.currentTimeMillis();
+  }
+
+  private byte[] read(String relativePath) throws IOException {
+    InputStream inputStream = location.createRelative(relativePath).getInputStream();
+    try {
+      return ByteStreams.toByteArray(inputStream);
+    } finally {
+      inputStream.close();
+    }
+  }
+}
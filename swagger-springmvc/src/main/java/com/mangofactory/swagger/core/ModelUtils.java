@@ -3,6 +3,7 @@ package com.mangofactory.swagger.core;
 import com.fasterxml.classmate.ResolvedType;
 import com.fasterxml.classmate.TypeResolver;
 import com.mangofactory.swagger.models.ResolvedTypes;
+import com.mangofactory.swagger.models.TypeMembersProvider;
 import com.mangofactory.swagger.readers.operation.HandlerMethodResolver;
 import org.springframework.web.method.HandlerMethod;
 
@@ -17,10 +18,19 @@ public final class ModelUtils {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * @deprecated resolves members with a TypeMembersProvider of its own, use the overload taking the shared one
+   */
+  @Deprecated
   public static ResolvedType handlerReturnType(TypeResolver resolver, HandlerMethod handlerMethod) {
+    return handlerReturnType(resolver, new TypeMembersProvider(resolver), handlerMethod);
+  }
+
+  public static ResolvedType handlerReturnType(TypeResolver resolver, TypeMembersProvider typeMembers,
+      HandlerMethod handlerMethod) {
     Class hostClass = use(handlerMethod.getBeanType())
             .or(handlerMethod.getMethod().getDeclaringClass());
-    return new HandlerMethodResolver(resolver).methodReturnType(handlerMethod.getMethod(), hostClass);
+    return new HandlerMethodResolver(resolver, typeMembers).methodReturnType(handlerMethod.getMethod(), hostClass);
   }
 
   public static String getModelName(TypeResolver resolver, Type clazz) {
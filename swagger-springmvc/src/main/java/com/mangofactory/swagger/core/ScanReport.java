@@ -0,0 +1,121 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Where the time went while a swagger group was scanned: the request mapping scan, each resource group's api listing
+ * and, summed over all of them, model resolution and operation building.
+ *
+ * Resource groups may be scanned concurrently, or lazily when their api listing is first requested, so a report can
+ * be recorded into from several threads and keeps growing after the initial scan. Model resolution and operation
+ * building are summed over every thread and may add up to more than the wall clock time of the api listing scan.
+ */
+public class ScanReport {
+  private final String swaggerGroup;
+  private final AtomicLong requestMappingScanNanos = new AtomicLong();
+  private final AtomicLong modelResolutionNanos = new AtomicLong();
+  private final AtomicLong operationBuildingNanos = new AtomicLong();
+  private final ConcurrentMap<String, Long> resourceGroupNanos = new ConcurrentHashMap<String, Long>();
+  private final Set<String> modelNames = Sets.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  private volatile int handlerMethodCount;
+
+  public ScanReport(String swaggerGroup) {
+    this.swaggerGroup = swaggerGroup;
+  }
+
+  public void recordRequestMappingScan(long nanos, int handlerMethodCount) {
+    this.requestMappingScanNanos.set(nanos);
+    this.handlerMethodCount = handlerMethodCount;
+  }
+
+  public void recordResourceGroup(String groupName, long nanos, Collection<String> modelNames) {
+    this.resourceGroupNanos.put(groupName, nanos);
+    this.modelNames.addAll(modelNames);
+  }
+
+  public void recordModelResolution(long nanos) {
+    modelResolutionNanos.addAndGet(nanos);
+  }
+
+  public void recordOperationBuilding(long nanos) {
+    operationBuildingNanos.addAndGet(nanos);
+  }
+
+  public String getSwaggerGroup() {
+    return swaggerGroup;
+  }
+
+  /**
+   * @return the number of handler methods found by the request mapping scan, a handler method belonging to several
+   * resource groups is counted once
+   */
+  public int getHandlerMethodCount() {
+    return handlerMethodCount;
+  }
+
+  /**
+   * @return the number of resource groups whose api listing has been scanned so far
+   */
+  public int getResourceGroupCount() {
+    return resourceGroupNanos.size();
+  }
+
+  /**
+   * @return the number of distinct models in the api listings scanned so far
+   */
+  public int getModelCount() {
+    return modelNames.size();
+  }
+
+  public long getRequestMappingScanNanos() {
+    return requestMappingScanNanos.get();
+  }
+
+  /**
+   * @return the time spent scanning each resource group's api listing, keyed by group name
+   */
+  public Map<String, Long> getResourceGroupNanos() {
+    return ImmutableMap.copyOf(resourceGroupNanos);
+  }
+
+  public long getApiListingScanNanos() {
+    long nanos = 0;
+    for (Long groupNanos : resourceGroupNanos.values()) {
+      nanos += groupNanos;
+    }
+    return nanos;
+  }
+
+  public long getModelResolutionNanos() {
+    return modelResolutionNanos.get();
+  }
+
+  public long getOperationBuildingNanos() {
+    return operationBuildingNanos.get();
+  }
+
+  /**
+   * @return the report as a single line fit for the log
+   */
+  @Override
+  public String toString() {
+    return String.format("Scanned swagger group %s: %d handler methods, %d resource groups, %d models"
+                    + " (request mappings %d ms, api listings %d ms, model resolution %d ms, operations %d ms)",
+            swaggerGroup, getHandlerMethodCount(), getResourceGroupCount(), getModelCount(),
+            millis(getRequestMappingScanNanos()), millis(getApiListingScanNanos()), millis(getModelResolutionNanos()),
+            millis(getOperationBuildingNanos()));
+  }
+
+  private static long millis(long nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos);
+  }
+}
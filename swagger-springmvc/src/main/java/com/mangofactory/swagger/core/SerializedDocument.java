@@ -0,0 +1,175 @@
+package com.mangofactory.swagger.core;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+import com.wordnik.swagger.core.util.JsonSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.collect.Maps.*;
+
+/**
+ * A swagger document (ResourceListing or ApiListing) rendered once to its UTF-8 json representation so that it can
+ * be served repeatedly without going back through the json serializer.
+ *
+ * Compressed variants of the json are built up front as well, so a request that accepts a compressed response does
+ * not pay for compression either. A compressed variant is only kept when it is smaller than the plain json.
+ *
+ * A strong entity tag is derived from a hash of the json, so conditional requests can be answered without looking at
+ * the content. The last modification time is that of the scan or build the document came from rather than the time it
+ * was serialized, so that a document read back from a snapshot or from generated api docs keeps its original time.
+ */
+public class SerializedDocument implements ServedDocument {
+  public static final String IDENTITY = "identity";
+  public static final String GZIP = "gzip";
+  public static final String DEFLATE = "deflate";
+
+  private final byte[] content;
+  //Compressed variants in order of preference
+  private final Map<String, byte[]> encodedContent = newLinkedHashMap();
+  private final String contentHash;
+  private final long lastModified;
+
+  /**
+   * @param content      the UTF-8 json
+   * @param lastModified the time, in milliseconds since the epoch, at which the documentation was generated
+   */
+  public SerializedDocument(byte[] content, long lastModified) {
+    this.content = content;
+    this.contentHash = Hashing.sha1().hashBytes(content).toString();
+    //http dates have a resolution of one second
+    this.lastModified = lastModified / 1000 * 1000;
+    addIfSmaller(GZIP, compress(content, GZIP));
+    addIfSmaller(DEFLATE, compress(content, DEFLATE));
+  }
+
+  /**
+   * Renders the document using the swagger-core json serializer, which produces the json format expected by
+   * swagger-ui.
+   *
+   * @param document     a swagger ResourceListing or ApiListing
+   * @param lastModified the time at which the documentation was generated
+   * @return the serialized document
+   */
+  public static SerializedDocument serialize(Object document, long lastModified) {
+    return new SerializedDocument(JsonSerializer.asJson(document).getBytes(Charsets.UTF_8), lastModified);
+  }
+
+  /**
+   * Assembles a json object out of already serialized documents, without parsing or re-serializing them.
+   *
+   * @param members      the serialized members of the object keyed by name, or maps of such members for nested objects
+   * @param lastModified the time at which the documentation was generated
+   * @return the serialized object
+   */
+  public static SerializedDocument combine(Map<String, ?> members, long lastModified) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try {
+      writeObject(bytes, members);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to combine swagger documents", e);
+    }
+    return new SerializedDocument(bytes.toByteArray(), lastModified);
+  }
+
+  public byte[] getContent() {
+    return content;
+  }
+
+  public int getContentLength() {
+    return content.length;
+  }
+
+  @Override
+  public byte[] getContent(String encoding) {
+    if (encodedContent.containsKey(encoding)) {
+      return encodedContent.get(encoding);
+    }
+    return content;
+  }
+
+  @Override
+  public int getContentLength(String encoding) {
+    return getContent(encoding).length;
+  }
+
+  /**
+   * @return the number of bytes held for the document, summed over the plain json and its compressed variants
+   */
+  public long getRetainedBytes() {
+    long retained = content.length;
+    for (byte[] encoded : encodedContent.values()) {
+      retained += encoded.length;
+    }
+    return retained;
+  }
+
+  @Override
+  public Set<String> getEncodings() {
+    return Collections.unmodifiableSet(encodedContent.keySet());
+  }
+
+  /**
+   * Each encoding is a different representation of the document, so each gets its own strong entity tag.
+   */
+  @Override
+  public String getETag(String encoding) {
+    if (encodedContent.containsKey(encoding)) {
+      return String.format("\"%s-%s\"", contentHash, encoding);
+    }
+    return String.format("\"%s\"", contentHash);
+  }
+
+  @Override
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void writeObject(OutputStream out, Map<String, ?> members) throws IOException {
+    out.write('{');
+    boolean first = true;
+    for (Map.Entry<String, ?> member : members.entrySet()) {
+      if (!first) {
+        out.write(',');
+      }
+      first = false;
+      out.write('"');
+      out.write(JsonStringEncoder.getInstance().quoteAsUTF8(member.getKey()));
+      out.write('"');
+      out.write(':');
+      if (member.getValue() instanceof SerializedDocument) {
+        out.write(((SerializedDocument) member.getValue()).getContent());
+      } else {
+        writeObject(out, (Map<String, ?>) member.getValue());
+      }
+    }
+    out.write('}');
+  }
+
+  private void addIfSmaller(String encoding, byte[] compressed) {
+    if (compressed.length < content.length) {
+      encodedContent.put(encoding, compressed);
+    }
+  }
+
+  static byte[] compress(byte[] content, String encoding) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 4 + 64);
+    try {
+      OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(bytes) : new DeflaterOutputStream(bytes);
+      out.write(content);
+      out.close();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to compress swagger document", e);
+    }
+    return bytes.toByteArray();
+  }
+}
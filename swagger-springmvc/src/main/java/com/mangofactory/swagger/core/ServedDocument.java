@@ -0,0 +1,36 @@
+package com.mangofactory.swagger.core;
+
+import java.util.Set;
+
+/**
+ * A json document as served by the documentation endpoints, in plain json or in one of the compressed content codings
+ * it supports.
+ *
+ * @see SerializedDocument
+ * @see ApiListingPage
+ */
+public interface ServedDocument {
+  /**
+   * @return the compressed content codings available for this document, most preferred first
+   */
+  Set<String> getEncodings();
+
+  /**
+   * @param encoding a content coding i.e. gzip, deflate or identity
+   * @return the quoted strong entity tag of the document in that encoding
+   */
+  String getETag(String encoding);
+
+  /**
+   * @return the time, in milliseconds since the epoch, at which the documentation was generated, to the second
+   */
+  long getLastModified();
+
+  /**
+   * @param encoding a content coding i.e. gzip, deflate or identity
+   * @return the document in the requested encoding, or the plain json if no such variant is available
+   */
+  byte[] getContent(String encoding);
+
+  int getContentLength(String encoding);
+}
@@ -1,6 +1,7 @@
 package com.mangofactory.swagger.core;
 
 import com.google.common.collect.Ordering;
+import com.google.common.collect.Sets;
 import com.mangofactory.swagger.authorization.AuthorizationContext;
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
 import com.mangofactory.swagger.controllers.DefaultSwaggerController;
@@ -23,16 +24,22 @@ import com.wordnik.swagger.model.ResourceListing;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static com.google.common.collect.Lists.*;
+import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
 import static com.mangofactory.swagger.ScalaUtils.*;
 
 public class SwaggerApiResourceListing {
   private static final Logger log = LoggerFactory.getLogger(SwaggerApiResourceListing.class);
+  private static final String LINE_SEPARATOR = System.getProperty("line.separator");
 
   private SwaggerCache swaggerCache;
   private ApiInfo apiInfo;
@@ -47,6 +54,12 @@ public class SwaggerApiResourceListing {
   private Ordering<ApiListingReference> apiListingReferenceOrdering = new ResourceListingLexicographicalOrdering();
   private Ordering<ApiDescription> apiDescriptionOrdering = new ApiDescriptionLexicographicalOrdering();
   private Collection<RequestMappingReader> customAnnotationReaders;
+  private boolean lazyApiListings;
+  private int scanParallelism = 1;
+  private Map<String, List<Object>> resourceGroupFingerprints;
+  private volatile ScanReport scanReport;
+  private boolean profileCommands;
+  private volatile CommandProfile commandProfile;
 
   public SwaggerApiResourceListing(SwaggerCache swaggerCache, String swaggerGroup) {
     this.swaggerCache = swaggerCache;
@@ -55,26 +68,113 @@ public class SwaggerApiResourceListing {
 
   public void initialize() {
     List<ApiListingReference> apiListingReferences = new ArrayList<ApiListingReference>();
+    Map<String, ApiListing> apiListings = newHashMap();
+    ApiListingLoader apiListingLoader = null;
     if (null != apiListingReferenceScanner) {
-      apiListingReferenceScanner.scan();
+      startReports();
+      scanRequestMappings();
       apiListingReferences = apiListingReferenceScanner.getApiListingReferences();
 
       Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings =
               apiListingReferenceScanner.getResourceGroupRequestMappings();
-      ApiListingScanner apiListingScanner = new ApiListingScanner(resourceGroupRequestMappings, swaggerPathProvider,
-              modelProvider, authorizationContext, customAnnotationReaders);
+      ApiListingScanner apiListingScanner = apiListingScanner(resourceGroupRequestMappings);
 
-      apiListingScanner.setApiDescriptionOrdering(apiDescriptionOrdering);
-      apiListingScanner.setSwaggerGlobalSettings(swaggerGlobalSettings);
-      apiListingScanner.setResourceGroupingStrategy(apiListingReferenceScanner.getResourceGroupingStrategy());
-
-      Map<String, ApiListing> apiListings = apiListingScanner.scan();
-      swaggerCache.addApiListings(swaggerGroup, apiListings);
+      if (lazyApiListings) {
+        apiListingLoader = apiListingScanner;
+      } else {
+        apiListings = apiListingScanner.scan();
+      }
+      resourceGroupFingerprints = fingerprint(resourceGroupRequestMappings);
+      logReports();
 
     } else {
       log.error("ApiListingReferenceScanner not configured");
     }
 
+    swaggerCache.addSwaggerGroup(swaggerGroup, resourceListing(apiListingReferences), apiListings, apiListingLoader);
+  }
+
+  /**
+   * Re-scans the request mappings after the application context was refreshed and only regenerates the api listings
+   * of the resource groups whose request mappings changed. The changed and removed api listings are swapped into the
+   * swagger cache together with the new resource listing, while the other api listings are kept as they were,
+   * serialized json included. Falls back to a full initialization if the group was never scanned.
+   */
+  public void refresh() {
+    if (null == apiListingReferenceScanner || null == resourceGroupFingerprints) {
+      initialize();
+      return;
+    }
+    startReports();
+    scanRequestMappings();
+    Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings =
+            apiListingReferenceScanner.getResourceGroupRequestMappings();
+    Map<String, List<Object>> fingerprints = fingerprint(resourceGroupRequestMappings);
+    ApiListingScanner apiListingScanner = apiListingScanner(resourceGroupRequestMappings);
+    ResourceListing resourceListing = resourceListing(apiListingReferenceScanner.getApiListingReferences());
+
+    if (lazyApiListings) {
+      swaggerCache.addSwaggerGroup(swaggerGroup, resourceListing, Collections.<String, ApiListing>emptyMap(),
+              apiListingScanner);
+    } else {
+      Map<String, ApiListing> changed = newHashMap();
+      for (Map.Entry<String, List<Object>> entry : fingerprints.entrySet()) {
+        if (!entry.getValue().equals(resourceGroupFingerprints.get(entry.getKey()))) {
+          changed.put(entry.getKey(), apiListingScanner.load(entry.getKey()));
+        }
+      }
+      Set<String> removed = Sets.difference(resourceGroupFingerprints.keySet(), fingerprints.keySet());
+      log.info("Refreshing swagger group {}: {} resource groups changed, {} removed", swaggerGroup,
+              changed.size(), removed.size());
+      swaggerCache.updateSwaggerGroup(swaggerGroup, resourceListing, changed, removed);
+    }
+    resourceGroupFingerprints = fingerprints;
+    logReports();
+  }
+
+  private void startReports() {
+    scanReport = new ScanReport(swaggerGroup);
+    commandProfile = profileCommands ? new CommandProfile() : null;
+  }
+
+  private void logReports() {
+    log.info("{}", scanReport);
+    if (null != commandProfile) {
+      log.info("Readers run while scanning swagger group {}:{}{}", swaggerGroup, LINE_SEPARATOR, commandProfile);
+    }
+  }
+
+  private void scanRequestMappings() {
+    long start = System.nanoTime();
+    apiListingReferenceScanner.scan();
+    Set<Method> handlerMethods = newHashSet();
+    Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings =
+            apiListingReferenceScanner.getResourceGroupRequestMappings();
+    if (null != resourceGroupRequestMappings) {
+      for (List<RequestMappingContext> requestMappingContexts : resourceGroupRequestMappings.values()) {
+        for (RequestMappingContext requestMappingContext : requestMappingContexts) {
+          handlerMethods.add(requestMappingContext.getHandlerMethod().getMethod());
+        }
+      }
+    }
+    scanReport.recordRequestMappingScan(System.nanoTime() - start, handlerMethods.size());
+  }
+
+  private ApiListingScanner apiListingScanner(
+          Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings) {
+    ApiListingScanner apiListingScanner = new ApiListingScanner(resourceGroupRequestMappings, swaggerPathProvider,
+            modelProvider, authorizationContext, customAnnotationReaders);
+
+    apiListingScanner.setApiDescriptionOrdering(apiDescriptionOrdering);
+    apiListingScanner.setSwaggerGlobalSettings(swaggerGlobalSettings);
+    apiListingScanner.setResourceGroupingStrategy(apiListingReferenceScanner.getResourceGroupingStrategy());
+    apiListingScanner.setScanParallelism(scanParallelism);
+    apiListingScanner.setScanReport(scanReport);
+    apiListingScanner.setCommandProfile(commandProfile);
+    return apiListingScanner;
+  }
+
+  private ResourceListing resourceListing(List<ApiListingReference> apiListingReferences) {
     Collections.sort(apiListingReferences, apiListingReferenceOrdering);
 
     ResourceListing resourceListing = new ResourceListing(
@@ -92,8 +192,47 @@ public class SwaggerApiResourceListing {
               .DOCUMENTATION_BASE_PATH;
       log.info("  {} at location: {}{}", path, prefix, apiListingReference.path());
     }
+    return resourceListing;
+  }
+
+  /**
+   * Everything an api listing is generated from that can change on a context refresh: the position of its resource
+   * group and the group's request mappings. Methods of a reloaded class are not equal to the original ones, so
+   * reloaded controllers count as changed.
+   */
+  private static Map<String, List<Object>> fingerprint(
+          Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings) {
+    Map<String, List<Object>> fingerprints = newHashMap();
+    if (null == resourceGroupRequestMappings) {
+      return fingerprints;
+    }
+    int position = 0;
+    for (Map.Entry<ResourceGroup, List<RequestMappingContext>> entry : resourceGroupRequestMappings.entrySet()) {
+      List<Object> fingerprint = newArrayList();
+      fingerprint.add(position++);
+      for (RequestMappingContext requestMappingContext : entry.getValue()) {
+        fingerprint.add(requestMappingContext.getRequestMappingInfo());
+        fingerprint.add(requestMappingContext.getHandlerMethod().getMethod());
+      }
+      fingerprints.put(entry.getKey().getGroupName(), fingerprint);
+    }
+    return fingerprints;
+  }
 
-    swaggerCache.addSwaggerResourceListing(swaggerGroup, resourceListing);
+  /**
+   * @return how long the last initialization or refresh spent on each scanning phase and how much it found, null
+   * before the group is initialized. With lazy api listings resource groups are added as they are first requested.
+   */
+  public ScanReport getScanReport() {
+    return scanReport;
+  }
+
+  /**
+   * @return the time and allocations of every reader run by the last initialization or refresh, per reader class,
+   * null unless commands are profiled
+   */
+  public CommandProfile getCommandProfile() {
+    return commandProfile;
   }
 
   public SwaggerCache getSwaggerCache() {
@@ -152,6 +291,25 @@ public class SwaggerApiResourceListing {
     this.apiDescriptionOrdering = apiDescriptionOrdering;
   }
 
+  /**
+   * @param lazyApiListings when true only the resource listing is built by initialize(), each api listing is
+   *                        generated the first time it is requested
+   */
+  public void setLazyApiListings(boolean lazyApiListings) {
+    this.lazyApiListings = lazyApiListings;
+  }
+
+  public void setScanParallelism(int scanParallelism) {
+    this.scanParallelism = scanParallelism;
+  }
+
+  /**
+   * @param profileCommands true to record the time and allocations of every reader run while scanning
+   */
+  public void setProfileCommands(boolean profileCommands) {
+    this.profileCommands = profileCommands;
+  }
+
   public void setCustomAnnotationReaders(Collection<RequestMappingReader> customAnnotationReaders) {
     this.customAnnotationReaders = customAnnotationReaders;
   }
@@ -1,37 +1,361 @@
 package com.mangofactory.swagger.core;
 
+import com.google.common.collect.ImmutableMap;
+import com.mangofactory.swagger.metrics.SwaggerMetricsSink;
 import com.wordnik.swagger.model.ApiListing;
 import com.wordnik.swagger.model.ResourceListing;
 import org.springframework.stereotype.Component;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static com.google.common.collect.Lists.*;
 import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
 
+/**
+ * Holds the generated documentation for every swagger group.
+ *
+ * Each group is stored as an immutable SwaggerGroupSnapshot and the map of groups itself is immutable and replaced
+ * wholesale through an atomic reference. Request threads therefore never block and never observe a partially
+ * built group, while a rebuild can swap in a new snapshot for a group at any time.
+ */
 @Component
 public class SwaggerCache {
-  private Map<String, ResourceListing> swaggerApiResourceListingMap = newLinkedHashMap();
+  private final AtomicReference<Map<String, SwaggerGroupSnapshot>> swaggerGroups =
+          new AtomicReference<Map<String, SwaggerGroupSnapshot>>(ImmutableMap.<String, SwaggerGroupSnapshot>of());
+  private final SwaggerCacheCounters counters = new SwaggerCacheCounters();
+  private volatile List<String> swaggerGroupOrder = Collections.emptyList();
+  private volatile boolean building = false;
+  private volatile SwaggerMetricsSink metricsSink;
 
-  //Map<'swaggerGroup', Map<controllerGroupName>, ApiListing>>
-  private Map<String, Map<String, ApiListing>> swaggerApiListingMap = newLinkedHashMap();
+  /**
+   * Atomically publishes the resource listing and api listings of a swagger group, replacing anything previously
+   * cached for it.
+   */
+  public void addSwaggerGroup(String swaggerGroup, ResourceListing resourceListing,
+                              Map<String, ApiListing> apiListings) {
+    addSwaggerGroup(swaggerGroup, resourceListing, apiListings, null);
+  }
+
+  /**
+   * Atomically publishes a swagger group whose api listings, other than those supplied, are generated by the loader
+   * the first time they are requested.
+   */
+  public void addSwaggerGroup(String swaggerGroup, ResourceListing resourceListing,
+                              Map<String, ApiListing> apiListings, ApiListingLoader apiListingLoader) {
+    publish(swaggerGroup, new SwaggerGroupSnapshot(resourceListing, apiListings, apiListingLoader), false);
+  }
+
+  /**
+   * Atomically publishes an already built snapshot of a swagger group, replacing anything previously cached for it.
+   */
+  public void addSwaggerGroup(String swaggerGroup, SwaggerGroupSnapshot snapshot) {
+    publish(swaggerGroup, snapshot, false);
+  }
+
+  /**
+   * Atomically replaces the resource listing of a swagger group along with some of its api listings, keeping the
+   * other api listings and their serialized json as they are. The supplied documents are serialized before the group
+   * is swapped.
+   *
+   * @param changedApiListings the new or regenerated api listings keyed by api declaration
+   * @param removedApiDeclarations the api declarations no longer part of the group
+   */
+  public void updateSwaggerGroup(String swaggerGroup, ResourceListing resourceListing,
+                                 Map<String, ApiListing> changedApiListings, Set<String> removedApiDeclarations) {
+    SwaggerGroupSnapshot changes = new SwaggerGroupSnapshot(resourceListing, changedApiListings);
+    while (true) {
+      Map<String, SwaggerGroupSnapshot> current = swaggerGroups.get();
+      SwaggerGroupSnapshot previous = current.get(swaggerGroup);
+      SwaggerGroupSnapshot published = null == previous ? changes : previous.updatedWith(changes,
+              removedApiDeclarations);
+      if (swaggerGroups.compareAndSet(current, withGroup(current, swaggerGroup, published))) {
+        Set<String> changed = null == previous
+                ? null
+                : union(changes.getSerializedApiListings().keySet(), removedApiDeclarations);
+        published(swaggerGroup, previous, published, changed);
+        return;
+      }
+    }
+  }
 
   public void addSwaggerResourceListing(String swaggerGroup, ResourceListing resourceListing) {
-    swaggerApiResourceListingMap.put(swaggerGroup, resourceListing);
+    publish(swaggerGroup, new SwaggerGroupSnapshot(resourceListing, null), true);
   }
 
   public void addApiListings(String swaggerGroup, Map<String, ApiListing> apiListings) {
-    swaggerApiListingMap.put(swaggerGroup, apiListings);
+    publish(swaggerGroup, new SwaggerGroupSnapshot(null, apiListings), true);
+  }
+
+  /**
+   * Groups built concurrently are published in whatever order they complete, so the order they are listed in, and
+   * hence the default group, is fixed up front.
+   *
+   * @param swaggerGroupOrder the swagger groups in the order they are listed, whichever is published first. Groups
+   *                          not in it are listed after them, in publication order.
+   */
+  public void setSwaggerGroupOrder(List<String> swaggerGroupOrder) {
+    this.swaggerGroupOrder = Collections.unmodifiableList(newArrayList(swaggerGroupOrder));
+  }
+
+  /**
+   * @return true while the documentation is being built in the background, in which case documents missing from the
+   * cache may still appear
+   */
+  public boolean isBuilding() {
+    return building;
+  }
+
+  public void setBuilding(boolean building) {
+    this.building = building;
+  }
+
+  /**
+   * @param metricsSink told about the statistics of the cache whenever a swagger group or api listing is published,
+   *                    null not to compute them
+   */
+  public void setMetricsSink(SwaggerMetricsSink metricsSink) {
+    this.metricsSink = metricsSink;
+  }
+
+  /**
+   * The statistics are kept as running totals updated with each publication, so reading them does not walk the
+   * cached documents.
+   *
+   * @return the number of swagger groups, api listings and models currently cached and an estimate of their size
+   */
+  public SwaggerCacheStatistics getStatistics() {
+    long serializedGroups = 0;
+    for (SwaggerGroupSnapshot snapshot : swaggerGroups.get().values()) {
+      serializedGroups += snapshot.getSerializedGroupRetainedBytes();
+    }
+    return counters.statistics(serializedGroups);
+  }
+
+  /**
+   * @return the published snapshot of the swagger group or null if the group is unknown
+   */
+  public SwaggerGroupSnapshot getSwaggerGroup(String swaggerGroup) {
+    return swaggerGroups.get().get(swaggerGroup);
+  }
+
+  /**
+   * @return the snapshot of the first swagger group listed or null if there are none
+   */
+  public SwaggerGroupSnapshot getDefaultSwaggerGroup() {
+    Map<String, SwaggerGroupSnapshot> current = swaggerGroups.get();
+    return current.isEmpty() ? null : current.values().iterator().next();
+  }
+
+  /**
+   * @return the published snapshots keyed by swagger group, in the swagger group order then in publication order
+   */
+  public Map<String, SwaggerGroupSnapshot> getSwaggerGroups() {
+    return swaggerGroups.get();
   }
 
+  /**
+   * Looks up the serialized api listing, generating and publishing it first if the group loads its api listings on
+   * demand.
+   *
+   * @return the serialized api listing or null if the group or the api declaration is unknown
+   */
+  public SerializedDocument getSerializedApiListing(String swaggerGroup, String apiDeclaration) {
+    SwaggerGroupSnapshot snapshot = snapshotWithApiListing(swaggerGroup, apiDeclaration);
+    return null == snapshot ? null : snapshot.getSerializedApiListings().get(apiDeclaration);
+  }
+
+  /**
+   * Looks up the whole swagger group as a single pre-serialized document. Any api listing of the group that is loaded
+   * on demand and was not requested yet is generated first.
+   *
+   * @return the serialized group or null if the group is unknown or has no resource listing yet
+   * @see SwaggerGroupSnapshot#getSerializedGroup()
+   */
+  public SerializedDocument getSerializedSwaggerGroup(String swaggerGroup) {
+    SwaggerGroupSnapshot snapshot = getSwaggerGroup(swaggerGroup);
+    if (null == snapshot || null == snapshot.getApiListingLoader()) {
+      return null == snapshot ? null : snapshot.getSerializedGroup();
+    }
+    for (String apiDeclaration : snapshot.getApiListingLoader().getApiDeclarations()) {
+      getSerializedApiListing(swaggerGroup, apiDeclaration);
+    }
+    return getSwaggerGroup(swaggerGroup).getSerializedGroup();
+  }
+
+  /**
+   * Looks up the index of an api listing, generating the api listing first if the group loads its api listings on
+   * demand. The index is read from the same snapshot as the api listing, so it always describes the listing served.
+   *
+   * @return the index or null if the group or the api declaration is unknown
+   */
+  public ApiListingIndex getApiListingIndex(String swaggerGroup, String apiDeclaration) {
+    SwaggerGroupSnapshot snapshot = snapshotWithApiListing(swaggerGroup, apiDeclaration);
+    return null == snapshot ? null : snapshot.getApiListingIndexes().get(apiDeclaration);
+  }
+
+  /**
+   * @return the resource listing of the swagger group, null if the group is unknown or its documentation was read back
+   * from json, in which case only the serialized resource listing is available
+   * @see SwaggerGroupSnapshot#getResourceListing()
+   */
   public ResourceListing getResourceListing(String key) {
-    return swaggerApiResourceListingMap.get(key);
+    SwaggerGroupSnapshot snapshot = getSwaggerGroup(key);
+    return null == snapshot ? null : snapshot.getResourceListing();
   }
 
+  /**
+   * @return the resource listings keyed by swagger group, leaving out those only held serialized
+   */
   public Map<String, ResourceListing> getSwaggerApiResourceListingMap() {
-    return swaggerApiResourceListingMap;
+    Map<String, ResourceListing> resourceListings = newLinkedHashMap();
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.get().entrySet()) {
+      if (null != entry.getValue().getResourceListing()) {
+        resourceListings.put(entry.getKey(), entry.getValue().getResourceListing());
+      }
+    }
+    return resourceListings;
   }
 
+  /**
+   * @return the api listings keyed by swagger group then api declaration, leaving out those only held serialized
+   * @see SwaggerGroupSnapshot#getApiListings()
+   */
   public Map<String, Map<String, ApiListing>> getSwaggerApiListingMap() {
-    return swaggerApiListingMap;
+    Map<String, Map<String, ApiListing>> apiListings = newLinkedHashMap();
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.get().entrySet()) {
+      apiListings.put(entry.getKey(), entry.getValue().getApiListings());
+    }
+    return apiListings;
+  }
+
+  /**
+   * @return the pre-rendered json resource listings keyed by swagger group
+   */
+  public Map<String, SerializedDocument> getSerializedResourceListingMap() {
+    Map<String, SerializedDocument> resourceListings = newLinkedHashMap();
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.get().entrySet()) {
+      if (null != entry.getValue().getSerializedResourceListing()) {
+        resourceListings.put(entry.getKey(), entry.getValue().getSerializedResourceListing());
+      }
+    }
+    return resourceListings;
+  }
+
+  /**
+   * @return the pre-rendered json api listings keyed by swagger group and then by api declaration
+   */
+  public Map<String, Map<String, SerializedDocument>> getSerializedApiListingMap() {
+    Map<String, Map<String, SerializedDocument>> apiListings = newLinkedHashMap();
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.get().entrySet()) {
+      apiListings.put(entry.getKey(), entry.getValue().getSerializedApiListings());
+    }
+    return apiListings;
+  }
+
+  /**
+   * Copy-on-write publication: the snapshot is serialized before entering the compare-and-set loop so that a retry
+   * only repeats the cheap map copy.
+   */
+  private void publish(String swaggerGroup, SwaggerGroupSnapshot snapshot, boolean merge) {
+    while (true) {
+      Map<String, SwaggerGroupSnapshot> current = swaggerGroups.get();
+      SwaggerGroupSnapshot published = merge ? snapshot.mergedInto(current.get(swaggerGroup)) : snapshot;
+      if (swaggerGroups.compareAndSet(current, withGroup(current, swaggerGroup, published))) {
+        published(swaggerGroup, current.get(swaggerGroup), published, null);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Generation happens under the group's loader lock and the cache is re-checked once the lock is held, so concurrent
+   * first requests for the same api listing share a single build.
+   *
+   * @return a snapshot of the group holding the api listing, or null if the group or the api declaration is unknown
+   */
+  private SwaggerGroupSnapshot snapshotWithApiListing(String swaggerGroup, String apiDeclaration) {
+    SwaggerGroupSnapshot snapshot = getSwaggerGroup(swaggerGroup);
+    if (null == snapshot || snapshot.getSerializedApiListings().containsKey(apiDeclaration)) {
+      return snapshot;
+    }
+    ApiListingLoader apiListingLoader = snapshot.getApiListingLoader();
+    if (null == apiListingLoader) {
+      return null;
+    }
+    synchronized (apiListingLoader) {
+      return loadApiListing(swaggerGroup, apiDeclaration, apiListingLoader);
+    }
+  }
+
+  private SwaggerGroupSnapshot loadApiListing(String swaggerGroup, String apiDeclaration,
+                                              ApiListingLoader apiListingLoader) {
+    SwaggerGroupSnapshot current = getSwaggerGroup(swaggerGroup);
+    if (null == current || apiListingLoader != current.getApiListingLoader()) {
+      //The group was replaced while waiting for the lock, let the new snapshot answer
+      return snapshotWithApiListing(swaggerGroup, apiDeclaration);
+    }
+    if (current.getSerializedApiListings().containsKey(apiDeclaration)) {
+      return current;
+    }
+    ApiListing apiListing = apiListingLoader.load(apiDeclaration);
+    if (null == apiListing) {
+      return null;
+    }
+    SerializedDocument serialized = SerializedDocument.serialize(apiListing, current.getLastModified());
+    while (true) {
+      Map<String, SwaggerGroupSnapshot> groups = swaggerGroups.get();
+      SwaggerGroupSnapshot snapshot = groups.get(swaggerGroup);
+      if (null == snapshot || apiListingLoader != snapshot.getApiListingLoader()) {
+        //Superseded by a rebuild of the group, serve what was generated without publishing it
+        return current.withApiListing(apiDeclaration, apiListing, serialized);
+      }
+      SwaggerGroupSnapshot published = snapshot.withApiListing(apiDeclaration, apiListing, serialized);
+      if (swaggerGroups.compareAndSet(groups, withGroup(groups, swaggerGroup, published))) {
+        published(swaggerGroup, snapshot, published, Collections.singleton(apiDeclaration));
+        return published;
+      }
+    }
+  }
+
+  /**
+   * @param apiDeclarations the api declarations whose api listings may have changed, null if any may have
+   */
+  private void published(String swaggerGroup, SwaggerGroupSnapshot previous, SwaggerGroupSnapshot published,
+                         Set<String> apiDeclarations) {
+    counters.published(swaggerGroup, previous, published, apiDeclarations);
+    SwaggerMetricsSink sink = metricsSink;
+    if (null != sink) {
+      sink.swaggerCacheUpdated(getStatistics());
+    }
+  }
+
+  /**
+   * A group already published keeps its place, a new one goes before the first group listed after it.
+   */
+  private Map<String, SwaggerGroupSnapshot> withGroup(Map<String, SwaggerGroupSnapshot> current,
+                                                      String swaggerGroup, SwaggerGroupSnapshot snapshot) {
+    Map<String, SwaggerGroupSnapshot> updated = newLinkedHashMap();
+    List<String> order = swaggerGroupOrder;
+    int position = position(order, swaggerGroup);
+    boolean added = false;
+    for (Map.Entry<String, SwaggerGroupSnapshot> group : current.entrySet()) {
+      if (!added && !current.containsKey(swaggerGroup) && position < position(order, group.getKey())) {
+        updated.put(swaggerGroup, snapshot);
+        added = true;
+      }
+      updated.put(group.getKey(), group.getValue());
+    }
+    updated.put(swaggerGroup, snapshot);
+    return ImmutableMap.copyOf(updated);
+  }
+
+  private static int position(List<String> order, String swaggerGroup) {
+    int position = order.indexOf(swaggerGroup);
+    return position < 0 ? Integer.MAX_VALUE : position;
   }
 }
@@ -0,0 +1,120 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.wordnik.swagger.model.ApiListing;
+import com.wordnik.swagger.model.Model;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.*;
+import static com.google.common.collect.Sets.*;
+import static com.mangofactory.swagger.ScalaUtils.*;
+
+/**
+ * Running totals of what the SwaggerCache holds. They are updated from the api listings that changed with each
+ * publication, so publishing one more api listing of a group costs the same however many the cache already holds.
+ *
+ * Publications may be counted in a different order than they were made. Each one is counted as the difference
+ * between the snapshot it replaced and the one it published, so the totals add up once every publication has been
+ * counted. Models are counted by the number of api listings of their group defining them, read from the swagger
+ * objects or, for api listings only held serialized, from their index.
+ */
+class SwaggerCacheCounters {
+  private final Map<String, Map<String, Integer>> modelDefinitions = newHashMap();
+  private int swaggerGroupCount;
+  private int apiListingCount;
+  private int modelCount;
+  private long retainedBytes;
+
+  /**
+   * @param previous        the snapshot replaced, null for a new swagger group
+   * @param published       the snapshot published in its place
+   * @param apiDeclarations the api declarations whose api listings may have changed, null if any may have
+   */
+  synchronized void published(String swaggerGroup, SwaggerGroupSnapshot previous, SwaggerGroupSnapshot published,
+                              Set<String> apiDeclarations) {
+    if (null == previous) {
+      swaggerGroupCount++;
+    }
+    retainedBytes += SwaggerGroupSnapshot.estimatedRetainedBytes(published.getSerializedResourceListing())
+            - SwaggerGroupSnapshot.estimatedRetainedBytes(serializedResourceListing(previous));
+    Set<String> changed = apiDeclarations;
+    if (null == changed) {
+      changed = union(apiListings(previous).keySet(), published.getSerializedApiListings().keySet());
+    }
+    for (String apiDeclaration : changed) {
+      SerializedDocument before = apiListings(previous).get(apiDeclaration);
+      SerializedDocument after = published.getSerializedApiListings().get(apiDeclaration);
+      if (before != after) {
+        count(swaggerGroup, previous, apiDeclaration, before, -1);
+        count(swaggerGroup, published, apiDeclaration, after, 1);
+      }
+    }
+  }
+
+  /**
+   * @param additionalRetainedBytes the memory held by documents built on demand, which are not counted as published
+   */
+  synchronized SwaggerCacheStatistics statistics(long additionalRetainedBytes) {
+    return new SwaggerCacheStatistics(swaggerGroupCount, apiListingCount, modelCount,
+            retainedBytes + additionalRetainedBytes);
+  }
+
+  private void count(String swaggerGroup, SwaggerGroupSnapshot snapshot, String apiDeclaration,
+                     SerializedDocument serializedApiListing, int sign) {
+    if (null == serializedApiListing) {
+      return;
+    }
+    apiListingCount += sign;
+    retainedBytes += sign * SwaggerGroupSnapshot.estimatedRetainedBytes(serializedApiListing);
+    for (String modelName : modelNames(snapshot, apiDeclaration)) {
+      countModel(swaggerGroup, modelName, sign);
+    }
+  }
+
+  private static Set<String> modelNames(SwaggerGroupSnapshot snapshot, String apiDeclaration) {
+    ApiListing apiListing = snapshot.getApiListings().get(apiDeclaration);
+    if (null == apiListing) {
+      ApiListingIndex index = snapshot.getApiListingIndexes().get(apiDeclaration);
+      return null == index ? ImmutableSet.<String>of() : index.getModelNames();
+    }
+    scala.collection.Map<String, Model> models = fromOption(apiListing.models());
+    Set<String> modelNames = newHashSet();
+    if (null != models) {
+      for (Object modelName : fromScalaMap(models).keySet()) {
+        modelNames.add((String) modelName);
+      }
+    }
+    return modelNames;
+  }
+
+  private void countModel(String swaggerGroup, String modelName, int sign) {
+    Map<String, Integer> definitions = modelDefinitions.get(swaggerGroup);
+    if (null == definitions) {
+      definitions = newHashMap();
+      modelDefinitions.put(swaggerGroup, definitions);
+    }
+    int before = definitions.containsKey(modelName) ? definitions.get(modelName) : 0;
+    int after = before + sign;
+    if (after == 0) {
+      definitions.remove(modelName);
+    } else {
+      definitions.put(modelName, after);
+    }
+    if (before <= 0 && after > 0) {
+      modelCount++;
+    } else if (before > 0 && after <= 0) {
+      modelCount--;
+    }
+  }
+
+  private static SerializedDocument serializedResourceListing(SwaggerGroupSnapshot snapshot) {
+    return null == snapshot ? null : snapshot.getSerializedResourceListing();
+  }
+
+  private static Map<String, SerializedDocument> apiListings(SwaggerGroupSnapshot snapshot) {
+    return null == snapshot ? ImmutableMap.<String, SerializedDocument>of() : snapshot.getSerializedApiListings();
+  }
+}
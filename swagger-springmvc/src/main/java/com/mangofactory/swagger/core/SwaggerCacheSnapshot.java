@@ -0,0 +1,193 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.base.Charsets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+import static com.google.common.collect.Maps.*;
+
+/**
+ * Persists the contents of the SwaggerCache to a local file so that a later start of the same application can load
+ * the documentation instead of scanning for it.
+ *
+ * The file holds the serialized json of every swagger group and the time it was generated, together with the
+ * fingerprint of what the documentation was generated from. It is only loaded when the fingerprint matches, and the
+ * json is served exactly as it was written, with its original last modification time. Swagger groups generating their
+ * api listings on demand are not persisted.
+ *
+ * Define one as a bean to enable it e.g.
+ * <code>@Bean public SwaggerCacheSnapshot swaggerCacheSnapshot() { return new SwaggerCacheSnapshot(file); }</code>
+ *
+ * @see com.mangofactory.swagger.scanners.HandlerMappingFingerprint
+ */
+public class SwaggerCacheSnapshot {
+  private static final Logger log = LoggerFactory.getLogger(SwaggerCacheSnapshot.class);
+  private static final int MAGIC = 0x53574753;
+  private static final int FORMAT_VERSION = 2;
+  private static final int ABSENT = -1;
+
+  private final File file;
+
+  public SwaggerCacheSnapshot(File file) {
+    this.file = file;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  /**
+   * Loads the snapshot into the cache if it was written for the same fingerprint. Nothing is published unless the
+   * whole snapshot could be read.
+   *
+   * @return true if the cache was populated from the snapshot
+   */
+  public boolean restore(SwaggerCache swaggerCache, String fingerprint) {
+    if (!file.isFile()) {
+      log.info("No swagger snapshot found at {}", file);
+      return false;
+    }
+    try {
+      Map<String, SwaggerGroupSnapshot> swaggerGroups = read(mapFile(), fingerprint);
+      if (null == swaggerGroups) {
+        log.info("Swagger snapshot {} is out of date", file);
+        return false;
+      }
+      for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.entrySet()) {
+        swaggerCache.addSwaggerGroup(entry.getKey(), entry.getValue());
+      }
+      log.info("Loaded {} swagger groups from snapshot {}", swaggerGroups.size(), file);
+      return true;
+    } catch (IOException e) {
+      log.warn("Unable to read swagger snapshot " + file, e);
+    } catch (BufferUnderflowException e) {
+      log.warn("Swagger snapshot {} is truncated", file);
+    } catch (RuntimeException e) {
+      log.warn("Swagger snapshot " + file + " is corrupt", e);
+    }
+    return false;
+  }
+
+  /**
+   * Writes the cache contents, replacing any previous snapshot. The snapshot is written to a temporary file first so
+   * that a concurrent or interrupted write never leaves a partial snapshot behind.
+   */
+  public void save(SwaggerCache swaggerCache, String fingerprint) {
+    Map<String, SwaggerGroupSnapshot> swaggerGroups = swaggerCache.getSwaggerGroups();
+    for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.entrySet()) {
+      if (null != entry.getValue().getApiListingLoader()) {
+        log.info("Not writing a swagger snapshot, swagger group {} generates its api listings on demand",
+                entry.getKey());
+        return;
+      }
+    }
+    File temporary = new File(file.getPath() + ".tmp");
+    try {
+      write(temporary, swaggerGroups, fingerprint);
+      if (!temporary.renameTo(file) && !(file.delete() && temporary.renameTo(file))) {
+        throw new IOException("Unable to replace " + file);
+      }
+      log.info("Wrote swagger snapshot {}", file);
+    } catch (IOException e) {
+      log.warn("Unable to write swagger snapshot " + file, e);
+      temporary.delete();
+    }
+  }
+
+  private ByteBuffer mapFile() throws IOException {
+    RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = randomAccessFile.getChannel();
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } finally {
+      randomAccessFile.close();
+    }
+  }
+
+  private Map<String, SwaggerGroupSnapshot> read(ByteBuffer buffer, String fingerprint) {
+    if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !fingerprint.equals(readString(buffer))) {
+      return null;
+    }
+    Map<String, SwaggerGroupSnapshot> swaggerGroups = newLinkedHashMap();
+    int groupCount = buffer.getInt();
+    for (int group = 0; group < groupCount; group++) {
+      String swaggerGroup = readString(buffer);
+      long lastModified = buffer.getLong();
+      byte[] resourceListing = readBytes(buffer);
+      Map<String, byte[]> apiListings = newLinkedHashMap();
+      int apiListingCount = buffer.getInt();
+      for (int apiListing = 0; apiListing < apiListingCount; apiListing++) {
+        String apiDeclaration = readString(buffer);
+        apiListings.put(apiDeclaration, readBytes(buffer));
+      }
+      swaggerGroups.put(swaggerGroup, SwaggerGroupSnapshot.fromJson(resourceListing, apiListings, lastModified));
+    }
+    return swaggerGroups;
+  }
+
+  private String readString(ByteBuffer buffer) {
+    return new String(readBytes(buffer), Charsets.UTF_8);
+  }
+
+  private byte[] readBytes(ByteBuffer buffer) {
+    int length = buffer.getInt();
+    if (length == ABSENT) {
+      return null;
+    }
+    if (length < 0 || length > buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    byte[] bytes = new byte[length];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private void write(File target, Map<String, SwaggerGroupSnapshot> swaggerGroups, String fingerprint)
+          throws IOException {
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target)));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      writeString(out, fingerprint);
+      out.writeInt(swaggerGroups.size());
+      for (Map.Entry<String, SwaggerGroupSnapshot> entry : swaggerGroups.entrySet()) {
+        SwaggerGroupSnapshot snapshot = entry.getValue();
+        writeString(out, entry.getKey());
+        out.writeLong(snapshot.getLastModified());
+        SerializedDocument resourceListing = snapshot.getSerializedResourceListing();
+        writeBytes(out, null == resourceListing ? null : resourceListing.getContent());
+        out.writeInt(snapshot.getSerializedApiListings().size());
+        for (Map.Entry<String, SerializedDocument> apiListing : snapshot.getSerializedApiListings().entrySet()) {
+          writeString(out, apiListing.getKey());
+          writeBytes(out, apiListing.getValue().getContent());
+        }
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  private void writeString(DataOutputStream out, String value) throws IOException {
+    writeBytes(out, value.getBytes(Charsets.UTF_8));
+  }
+
+  private void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    if (null == bytes) {
+      out.writeInt(ABSENT);
+    } else {
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package com.mangofactory.swagger.core;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * What the swagger cache held at a point in time. Api listings generated on demand are only counted once they have
+ * been requested.
+ */
+public class SwaggerCacheStatistics {
+  private final int swaggerGroupCount;
+  private final int apiListingCount;
+  private final int modelCount;
+  private final long estimatedRetainedBytes;
+
+  @ConstructorProperties({"swaggerGroupCount", "apiListingCount", "modelCount", "estimatedRetainedBytes"})
+  public SwaggerCacheStatistics(int swaggerGroupCount, int apiListingCount, int modelCount,
+                                long estimatedRetainedBytes) {
+    this.swaggerGroupCount = swaggerGroupCount;
+    this.apiListingCount = apiListingCount;
+    this.modelCount = modelCount;
+    this.estimatedRetainedBytes = estimatedRetainedBytes;
+  }
+
+  public int getSwaggerGroupCount() {
+    return swaggerGroupCount;
+  }
+
+  public int getApiListingCount() {
+    return apiListingCount;
+  }
+
+  /**
+   * @return the number of distinct models of each swagger group, summed over the groups
+   */
+  public int getModelCount() {
+    return modelCount;
+  }
+
+  /**
+   * @return a rough estimate of the memory held by the cached documents
+   * @see SwaggerGroupSnapshot#getEstimatedRetainedBytes()
+   */
+  public long getEstimatedRetainedBytes() {
+    return estimatedRetainedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%d swagger groups, %d api listings, %d models, about %d KB", swaggerGroupCount,
+            apiListingCount, modelCount, estimatedRetainedBytes / 1024);
+  }
+}
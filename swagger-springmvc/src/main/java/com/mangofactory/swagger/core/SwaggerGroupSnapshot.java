@@ -0,0 +1,291 @@
+package com.mangofactory.swagger.core;
+
+import com.google.common.collect.ImmutableMap;
+import com.wordnik.swagger.model.ApiListing;
+import com.wordnik.swagger.model.ResourceListing;
+
+import java.util.Map;
+import java.util.Set;
+
+import static com.google.common.collect.Maps.*;
+
+/**
+ * An immutable view of everything cached for one swagger group: the resource listing, its api listings, their
+ * pre-serialized json and the indexes used to serve parts of them. Snapshots are published to request threads as a
+ * whole by the SwaggerCache, so a reader never sees a group with api listings but no resource listing or vice versa.
+ *
+ * A snapshot may carry an ApiListingLoader, in which case api listings missing from it are generated on demand and
+ * published as a new snapshot of the group.
+ *
+ * Documents read back from json, from a SwaggerCacheSnapshot or GeneratedApiDocs, are only held serialized. swagger-core
+ * does not read its own json back faithfully, e.g. operation types and parameter data types are lost, so they are not
+ * parsed into swagger objects at all.
+ *
+ * Every snapshot records when its documentation was generated. Documents built from a scan are stamped with the time
+ * the snapshot was created, documents read back from json with the time recorded alongside them, and documents kept
+ * from a previous snapshot keep their own time.
+ *
+ * @see com.mangofactory.swagger.core.SwaggerCache
+ */
+public class SwaggerGroupSnapshot {
+  private final ResourceListing resourceListing;
+  private final SerializedDocument serializedResourceListing;
+  private final Map<String, ApiListing> apiListings;
+  private final Map<String, SerializedDocument> serializedApiListings;
+  private final Map<String, ApiListingIndex> apiListingIndexes;
+  private final ApiListingLoader apiListingLoader;
+  private final long lastModified;
+  //Built on first request, a benign race at worst combines the same documents twice
+  private volatile SerializedDocument serializedGroup;
+
+  /**
+   * Serializes the supplied documents. Either may be null, in which case the snapshot holds only the other part.
+   *
+   * @param resourceListing the group's resource listing
+   * @param apiListings     the group's api listings keyed by api declaration
+   */
+  public SwaggerGroupSnapshot(ResourceListing resourceListing, Map<String, ApiListing> apiListings) {
+    this(resourceListing, apiListings, null);
+  }
+
+  /**
+   * @param resourceListing  the group's resource listing
+   * @param apiListings      the group's api listings keyed by api declaration
+   * @param apiListingLoader generates the api listings not supplied up front, may be null
+   */
+  public SwaggerGroupSnapshot(ResourceListing resourceListing, Map<String, ApiListing> apiListings,
+                              ApiListingLoader apiListingLoader) {
+    this.lastModified = System.currentTimeMillis();
+    this.resourceListing = resourceListing;
+    this.serializedResourceListing = null == resourceListing ? null : SerializedDocument.serialize(resourceListing,
+            lastModified);
+    this.apiListings = null == apiListings ? null : ImmutableMap.copyOf(apiListings);
+    this.serializedApiListings = null == apiListings ? null : serialize(apiListings, lastModified);
+    this.apiListingIndexes = null == serializedApiListings ? null : index(serializedApiListings);
+    this.apiListingLoader = apiListingLoader;
+  }
+
+  private SwaggerGroupSnapshot(ResourceListing resourceListing, SerializedDocument serializedResourceListing,
+                               Map<String, ApiListing> apiListings,
+                               Map<String, SerializedDocument> serializedApiListings,
+                               Map<String, ApiListingIndex> apiListingIndexes,
+                               ApiListingLoader apiListingLoader, long lastModified) {
+    this.resourceListing = resourceListing;
+    this.serializedResourceListing = serializedResourceListing;
+    this.apiListings = apiListings;
+    this.serializedApiListings = serializedApiListings;
+    this.apiListingIndexes = apiListingIndexes;
+    this.apiListingLoader = apiListingLoader;
+    this.lastModified = lastModified;
+  }
+
+  /**
+   * Rebuilds a snapshot from previously serialized json, which is served exactly as given. The snapshot holds no
+   * swagger objects.
+   *
+   * @param resourceListing the serialized resource listing, may be null
+   * @param apiListings     the serialized api listings keyed by api declaration
+   * @param lastModified    the time at which the json was generated
+   * @return the snapshot
+   */
+  static SwaggerGroupSnapshot fromJson(byte[] resourceListing, Map<String, byte[]> apiListings, long lastModified) {
+    ImmutableMap.Builder<String, SerializedDocument> serialized = ImmutableMap.builder();
+    for (Map.Entry<String, byte[]> entry : apiListings.entrySet()) {
+      serialized.put(entry.getKey(), new SerializedDocument(entry.getValue(), lastModified));
+    }
+    Map<String, SerializedDocument> serializedApiListings = serialized.build();
+    return new SwaggerGroupSnapshot(
+            null,
+            null == resourceListing ? null : new SerializedDocument(resourceListing, lastModified),
+            ImmutableMap.<String, ApiListing>of(),
+            serializedApiListings,
+            index(serializedApiListings),
+            null,
+            lastModified);
+  }
+
+  /**
+   * Overlays this snapshot on a previously published one, keeping the previous parts this snapshot does not have.
+   * No serialization happens here.
+   *
+   * @param previous the currently published snapshot of the group, may be null
+   * @return the merged snapshot
+   */
+  public SwaggerGroupSnapshot mergedInto(SwaggerGroupSnapshot previous) {
+    if (null == previous) {
+      return this;
+    }
+    return new SwaggerGroupSnapshot(
+            null == serializedResourceListing ? previous.resourceListing : resourceListing,
+            null == serializedResourceListing ? previous.serializedResourceListing : serializedResourceListing,
+            null == serializedApiListings ? previous.apiListings : apiListings,
+            null == serializedApiListings ? previous.serializedApiListings : serializedApiListings,
+            null == serializedApiListings ? previous.apiListingIndexes : apiListingIndexes,
+            null == apiListingLoader ? previous.apiListingLoader : apiListingLoader,
+            Math.max(lastModified, previous.lastModified));
+  }
+
+  /**
+   * @param apiDeclaration       the api declaration the listing was generated for
+   * @param apiListing           the generated api listing
+   * @param serializedApiListing its serialized form
+   * @return a copy of this snapshot that also holds the given api listing
+   */
+  public SwaggerGroupSnapshot withApiListing(String apiDeclaration, ApiListing apiListing,
+                                             SerializedDocument serializedApiListing) {
+    return new SwaggerGroupSnapshot(resourceListing, serializedResourceListing,
+            with(getApiListings(), apiDeclaration, apiListing),
+            with(getSerializedApiListings(), apiDeclaration, serializedApiListing),
+            with(getApiListingIndexes(), apiDeclaration, new ApiListingIndex(serializedApiListing)),
+            apiListingLoader,
+            lastModified);
+  }
+
+  /**
+   * Applies a partial update to this snapshot without serializing anything.
+   *
+   * @param changes                the new resource listing, if any, and the new or regenerated api listings
+   * @param removedApiDeclarations the api declarations to drop
+   * @return a copy of this snapshot with the changes applied
+   */
+  public SwaggerGroupSnapshot updatedWith(SwaggerGroupSnapshot changes, Set<String> removedApiDeclarations) {
+    return new SwaggerGroupSnapshot(
+            null == changes.serializedResourceListing ? resourceListing : changes.resourceListing,
+            null == changes.serializedResourceListing ? serializedResourceListing : changes.serializedResourceListing,
+            updated(getApiListings(), changes.getApiListings(), removedApiDeclarations),
+            updated(getSerializedApiListings(), changes.getSerializedApiListings(), removedApiDeclarations),
+            updated(getApiListingIndexes(), changes.getApiListingIndexes(), removedApiDeclarations),
+            apiListingLoader,
+            changes.lastModified);
+  }
+
+  /**
+   * @return the resource listing, or null if this snapshot has none or only holds it serialized, having read it back
+   * from json
+   */
+  public ResourceListing getResourceListing() {
+    return resourceListing;
+  }
+
+  public SerializedDocument getSerializedResourceListing() {
+    return serializedResourceListing;
+  }
+
+  /**
+   * @return the api listings keyed by api declaration, empty if none have been cached. Api listings read back from
+   * json are only held serialized and are missing from it.
+   */
+  public Map<String, ApiListing> getApiListings() {
+    return null == apiListings ? ImmutableMap.<String, ApiListing>of() : apiListings;
+  }
+
+  /**
+   * @return the serialized api listings keyed by api declaration, empty if none have been cached
+   */
+  public Map<String, SerializedDocument> getSerializedApiListings() {
+    return null == serializedApiListings ? ImmutableMap.<String, SerializedDocument>of() : serializedApiListings;
+  }
+
+  /**
+   * @return the indexes of the api listings keyed by api declaration, empty if none have been cached
+   */
+  public Map<String, ApiListingIndex> getApiListingIndexes() {
+    return null == apiListingIndexes ? ImmutableMap.<String, ApiListingIndex>of() : apiListingIndexes;
+  }
+
+  /**
+   * The whole group as a single json document, combined from the serialized documents of this snapshot the first time
+   * it is asked for: <code>{"resourceListing": {...}, "apiListings": {"apiDeclaration": {...}, ...}}</code>
+   *
+   * @return the serialized group, or null if this snapshot has no resource listing
+   */
+  public SerializedDocument getSerializedGroup() {
+    if (null == serializedResourceListing) {
+      return null;
+    }
+    SerializedDocument serialized = serializedGroup;
+    if (null == serialized) {
+      Map<String, Object> group = newLinkedHashMap();
+      group.put("resourceListing", serializedResourceListing);
+      group.put("apiListings", getSerializedApiListings());
+      serialized = SerializedDocument.combine(group, lastModified);
+      serializedGroup = serialized;
+    }
+    return serialized;
+  }
+
+  /**
+   * A rough estimate of the memory held by this snapshot: the bytes of every serialized document in each of its
+   * encodings, plus as much again as the plain json for each document parsed into swagger objects. The indexes of the
+   * api listings only hold offsets into the json and are not counted.
+   *
+   * @return the estimated number of bytes retained by this snapshot
+   */
+  public long getEstimatedRetainedBytes() {
+    long retained = estimatedRetainedBytes(serializedResourceListing) + getSerializedGroupRetainedBytes();
+    for (SerializedDocument apiListing : getSerializedApiListings().values()) {
+      retained += estimatedRetainedBytes(apiListing);
+    }
+    return retained;
+  }
+
+  /**
+   * @return the bytes held by the serialized group, 0 until it is first asked for
+   */
+  long getSerializedGroupRetainedBytes() {
+    SerializedDocument group = serializedGroup;
+    return null == group ? 0 : group.getRetainedBytes();
+  }
+
+  /**
+   * @param document a resource listing or api listing of a snapshot, may be null
+   * @return the estimated number of bytes retained by the document in all its encodings and by its swagger object
+   */
+  static long estimatedRetainedBytes(SerializedDocument document) {
+    return null == document ? 0 : document.getRetainedBytes() + document.getContentLength();
+  }
+
+  /**
+   * @return the time, in milliseconds since the epoch, at which the documentation of this snapshot was generated,
+   * which api listings generated on demand are stamped with as well
+   */
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  /**
+   * @return the loader generating api listings on demand, or null if all api listings were built up front
+   */
+  public ApiListingLoader getApiListingLoader() {
+    return apiListingLoader;
+  }
+
+  private static <T> Map<String, T> with(Map<String, T> entries, String key, T value) {
+    Map<String, T> updated = newLinkedHashMap(entries);
+    updated.put(key, value);
+    return ImmutableMap.copyOf(updated);
+  }
+
+  private static <T> Map<String, T> updated(Map<String, T> entries, Map<String, T> changes, Set<String> removed) {
+    Map<String, T> updated = newLinkedHashMap(entries);
+    updated.keySet().removeAll(removed);
+    updated.putAll(changes);
+    return ImmutableMap.copyOf(updated);
+  }
+
+  private static Map<String, ApiListingIndex> index(Map<String, SerializedDocument> serializedApiListings) {
+    ImmutableMap.Builder<String, ApiListingIndex> indexes = ImmutableMap.builder();
+    for (Map.Entry<String, SerializedDocument> entry : serializedApiListings.entrySet()) {
+      indexes.put(entry.getKey(), new ApiListingIndex(entry.getValue()));
+    }
+    return indexes.build();
+  }
+
+  private static Map<String, SerializedDocument> serialize(Map<String, ApiListing> apiListings, long lastModified) {
+    ImmutableMap.Builder<String, SerializedDocument> serialized = ImmutableMap.builder();
+    for (Map.Entry<String, ApiListing> entry : apiListings.entrySet()) {
+      serialized.put(entry.getKey(), SerializedDocument.serialize(entry.getValue(), lastModified));
+    }
+    return serialized.build();
+  }
+}
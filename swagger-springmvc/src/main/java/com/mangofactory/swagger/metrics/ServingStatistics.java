@@ -0,0 +1,103 @@
+package com.mangofactory.swagger.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Request count, bytes served, conditional request hits and latency distribution of the documentation endpoints for
+ * one swagger group.
+ *
+ * Latencies are counted in buckets four to each power of two nanoseconds, so percentiles are reported as the upper
+ * bound of their bucket and are at most 25% above the actual latency. Recording never locks or allocates.
+ */
+public class ServingStatistics {
+  private static final int SUB_BUCKET_BITS = 2;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLong requestCount = new AtomicLong();
+  private final AtomicLong bytesServed = new AtomicLong();
+  private final AtomicLong notModifiedCount = new AtomicLong();
+  private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+  void record(boolean notModified, int bytes, long nanos) {
+    requestCount.incrementAndGet();
+    bytesServed.addAndGet(bytes);
+    if (notModified) {
+      notModifiedCount.incrementAndGet();
+    }
+    latencies.incrementAndGet(bucket(nanos));
+  }
+
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  public long getBytesServed() {
+    return bytesServed.get();
+  }
+
+  public long getNotModifiedCount() {
+    return notModifiedCount.get();
+  }
+
+  /**
+   * @return the share of requests answered with a 304 Not Modified, 0 before any request
+   */
+  public double getNotModifiedRatio() {
+    long requests = getRequestCount();
+    return requests == 0 ? 0 : (double) getNotModifiedCount() / requests;
+  }
+
+  public double getMedianLatencyMillis() {
+    return getLatencyMillis(0.5);
+  }
+
+  public double getP90LatencyMillis() {
+    return getLatencyMillis(0.9);
+  }
+
+  public double getP99LatencyMillis() {
+    return getLatencyMillis(0.99);
+  }
+
+  /**
+   * @param percentile between 0 and 1, e.g. 0.999
+   * @return the latency under which that share of the requests were answered, 0 before any request
+   */
+  public double getLatencyMillis(double percentile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      counts[bucket] = latencies.get(bucket);
+      total += counts[bucket];
+    }
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKETS; bucket++) {
+      seen += counts[bucket];
+      if (seen > 0 && seen >= rank) {
+        return (double) upperBound(bucket) / TimeUnit.MILLISECONDS.toNanos(1);
+      }
+    }
+    return 0;
+  }
+
+  static int bucket(long nanos) {
+    if (nanos < SUB_BUCKETS) {
+      return (int) Math.max(nanos, 0);
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((nanos >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long upperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long subBucket = bucket % SUB_BUCKETS;
+    return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+}
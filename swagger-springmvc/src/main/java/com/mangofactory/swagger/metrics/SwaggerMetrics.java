@@ -0,0 +1,144 @@
+package com.mangofactory.swagger.metrics;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.mangofactory.swagger.core.SwaggerCache;
+import com.mangofactory.swagger.core.SwaggerCacheStatistics;
+import com.mangofactory.swagger.plugin.SwaggerPluginAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.http.HttpStatus;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collects the serving statistics of the documentation endpoints per swagger group, exposes them along with the
+ * swagger cache statistics through JMX and forwards both to any additional metrics sinks. Enabled by declaring it as
+ * a bean next to the swagger configuration:
+ *
+ * <code>@Bean public SwaggerMetrics swaggerMetrics() { return new SwaggerMetrics(); }</code>
+ *
+ * The MXBean is registered with the platform MBean server under {@value #DEFAULT_OBJECT_NAME} unless another object
+ * name, or null not to register it, is set. Requests for unknown swagger groups are passed on to the sinks but not
+ * collected, so that they cannot grow the statistics without bound.
+ */
+public class SwaggerMetrics implements SwaggerMetricsMXBean, SwaggerMetricsSink, InitializingBean, DisposableBean {
+  public static final String DEFAULT_OBJECT_NAME = "com.mangofactory.swagger:type=SwaggerMetrics";
+
+  private static final Logger log = LoggerFactory.getLogger(SwaggerMetrics.class);
+  private final List<SwaggerMetricsSink> sinks;
+  private final ConcurrentMap<String, ServingStatistics> servingStatistics =
+          new ConcurrentHashMap<String, ServingStatistics>();
+  private SwaggerCache swaggerCache;
+  private SwaggerPluginAdapter swaggerPluginAdapter;
+  private String objectName = DEFAULT_OBJECT_NAME;
+  private ObjectName registeredName;
+
+  /**
+   * @param sinks where to forward the metrics to besides collecting them
+   */
+  public SwaggerMetrics(SwaggerMetricsSink... sinks) {
+    this.sinks = ImmutableList.copyOf(sinks);
+  }
+
+  @Override
+  public void documentServed(String swaggerGroup, int status, int bytes, long nanos) {
+    if (null != swaggerGroup && null != swaggerCache && null != swaggerCache.getSwaggerGroup(swaggerGroup)) {
+      servingStatistics(swaggerGroup).record(HttpStatus.NOT_MODIFIED.value() == status, bytes, nanos);
+    }
+    for (SwaggerMetricsSink sink : sinks) {
+      sink.documentServed(swaggerGroup, status, bytes, nanos);
+    }
+  }
+
+  @Override
+  public void swaggerCacheUpdated(SwaggerCacheStatistics statistics) {
+    for (SwaggerMetricsSink sink : sinks) {
+      sink.swaggerCacheUpdated(statistics);
+    }
+  }
+
+  @Override
+  public Map<String, ServingStatistics> getServingStatistics() {
+    return ImmutableMap.copyOf(servingStatistics);
+  }
+
+  @Override
+  public SwaggerCacheStatistics getSwaggerCacheStatistics() {
+    return null == swaggerCache ? null : swaggerCache.getStatistics();
+  }
+
+  @Override
+  public boolean rebuildSwaggerGroup(String swaggerGroup) {
+    if (null == swaggerPluginAdapter) {
+      return false;
+    }
+    log.info("Rebuilding swagger group {} on request", swaggerGroup);
+    return swaggerPluginAdapter.rebuild(swaggerGroup);
+  }
+
+  @Override
+  public void resetServingStatistics() {
+    servingStatistics.clear();
+  }
+
+  @Override
+  public void afterPropertiesSet() throws JMException {
+    if (null == objectName) {
+      return;
+    }
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(objectName);
+    try {
+      mBeanServer.registerMBean(this, name);
+      registeredName = name;
+    } catch (InstanceAlreadyExistsException e) {
+      log.warn("Not registering the swagger metrics, {} is already registered", objectName);
+    }
+  }
+
+  @Override
+  public void destroy() throws JMException {
+    if (null != registeredName) {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+      registeredName = null;
+    }
+  }
+
+  public void setSwaggerCache(SwaggerCache swaggerCache) {
+    this.swaggerCache = swaggerCache;
+  }
+
+  public void setSwaggerPluginAdapter(SwaggerPluginAdapter swaggerPluginAdapter) {
+    this.swaggerPluginAdapter = swaggerPluginAdapter;
+  }
+
+  /**
+   * @param objectName the JMX object name to register under, null not to register with JMX
+   */
+  public void setObjectName(String objectName) {
+    this.objectName = objectName;
+  }
+
+  private ServingStatistics servingStatistics(String swaggerGroup) {
+    ServingStatistics statistics = servingStatistics.get(swaggerGroup);
+    if (null == statistics) {
+      ServingStatistics created = new ServingStatistics();
+      statistics = servingStatistics.putIfAbsent(swaggerGroup, created);
+      if (null == statistics) {
+        statistics = created;
+      }
+    }
+    return statistics;
+  }
+}
@@ -0,0 +1,27 @@
+package com.mangofactory.swagger.metrics;
+
+import com.mangofactory.swagger.core.SwaggerCacheStatistics;
+
+import java.util.Map;
+
+/**
+ * Management interface of the documentation, as registered with JMX
+ */
+public interface SwaggerMetricsMXBean {
+
+  /**
+   * @return the serving statistics of the documentation endpoints keyed by swagger group
+   */
+  Map<String, ServingStatistics> getServingStatistics();
+
+  SwaggerCacheStatistics getSwaggerCacheStatistics();
+
+  /**
+   * Re-scans the request mappings of a swagger group and replaces its cached documentation
+   *
+   * @return false if no plugin documents the swagger group
+   */
+  boolean rebuildSwaggerGroup(String swaggerGroup);
+
+  void resetServingStatistics();
+}
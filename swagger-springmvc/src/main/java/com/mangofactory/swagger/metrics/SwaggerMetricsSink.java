@@ -0,0 +1,23 @@
+package com.mangofactory.swagger.metrics;
+
+import com.mangofactory.swagger.core.SwaggerCacheStatistics;
+
+/**
+ * Receives the metrics of the documentation endpoints and of the swagger cache, e.g. to forward them to a metrics
+ * registry. Implementations are called on request threads and must be thread safe and quick.
+ */
+public interface SwaggerMetricsSink {
+
+  /**
+   * @param swaggerGroup the swagger group the request was for
+   * @param status       the http status of the response
+   * @param bytes        the number of body bytes sent, 0 for HEAD requests and responses without a body
+   * @param nanos        the time taken to answer the request
+   */
+  void documentServed(String swaggerGroup, int status, int bytes, long nanos);
+
+  /**
+   * @param statistics what the swagger cache holds after a swagger group or an api listing was published
+   */
+  void swaggerCacheUpdated(SwaggerCacheStatistics statistics);
+}
@@ -1,6 +1,15 @@
 package com.mangofactory.swagger.plugin;
 
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mangofactory.swagger.configuration.SpringSwaggerConfig;
+import com.mangofactory.swagger.core.GeneratedApiDocs;
+import com.mangofactory.swagger.core.SwaggerCache;
+import com.mangofactory.swagger.core.SwaggerCacheSnapshot;
+import com.mangofactory.swagger.scanners.HandlerMappingFingerprint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.BeanFactoryUtils;
@@ -8,8 +17,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.util.Assert;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.Lists.*;
 
 /**
  * After an application context refresh, builds and executes all SwaggerSpringMvcPlugin instances found in the
@@ -17,11 +36,45 @@ import java.util.Map;
  * context.
  * 
  * If no instances SwaggerSpringMvcPlugin are found a default one is created and executed.
+ *
+ * By default this happens on the thread publishing the context refresh. When a documentation executor is supplied
+ * the plugins are run on it instead, so the application can take traffic while the documentation is being built.
+ * Until then the swagger cache reports itself as building and the documentation endpoints answer 503.
+ *
+ * If GeneratedApiDocs are configured they are served as they are and no plugin is ever run, so they are never rebuilt
+ * or refreshed.
+ *
+ * If a SwaggerCacheSnapshot is configured and it was written for the same handler mappings, bytecode and plugin
+ * configurations, the documentation is loaded from it and the plugins are built but do not scan anything. They still
+ * rebuild and refresh the documentation afterwards. Otherwise a fresh snapshot is saved after scanning.
+ *
+ * Plugins are all built first, on the calling thread, so that every rule they register on shared components such as
+ * the AlternateTypeProvider is in place before any scanning starts. Their scans are independent of each other and
+ * can then be run in parallel, on up to pluginParallelism threads. Swagger groups are listed in the order of their
+ * plugins all the same, so the default group does not depend on which scan completes first.
+ *
+ * Later context refreshes are ignored, except by the plugins with incremental refresh enabled, which then update
+ * the documentation of the resource groups whose request mappings changed.
+ *
+ * Once built, the documentation of a single swagger group can be rebuilt from scratch on demand, e.g. from JMX.
  */
 public class SwaggerPluginAdapter implements ApplicationListener<ContextRefreshedEvent> {
+  /**
+   * Name of the optional java.util.concurrent.Executor bean on which the documentation is built
+   */
+  public static final String DOCUMENTATION_EXECUTOR = "swaggerDocumentationExecutor";
+
   private static final Logger log = LoggerFactory.getLogger(SwaggerPluginAdapter.class);
   private SpringSwaggerConfig springSwaggerConfig;
+  private Executor documentationExecutor;
+  private SwaggerCacheSnapshot swaggerCacheSnapshot;
+  private GeneratedApiDocs generatedApiDocs;
+  private final SettableFuture<Void> documentation = SettableFuture.create();
+  private volatile boolean documentationReady = false;
   private boolean initialized = false;
+  private int pluginParallelism = 1;
+  private final List<SwaggerSpringMvcPlugin> refreshablePlugins = newCopyOnWriteArrayList();
+  private final List<SwaggerSpringMvcPlugin> initializedPlugins = newCopyOnWriteArrayList();
 
   @Autowired
   public SwaggerPluginAdapter(SpringSwaggerConfig springSwaggerConfig) {
@@ -32,30 +85,227 @@ public class SwaggerPluginAdapter implements ApplicationListener<ContextRefreshe
   public void onApplicationEvent(ContextRefreshedEvent contextRefreshedEvent) {
     if (!initialized) {
       log.info("Context refreshed");
+      initialized = true;
       ApplicationContext applicationContext = contextRefreshedEvent.getApplicationContext();
+      if (null == documentationExecutor) {
+        buildDocumentation(applicationContext);
+      } else {
+        buildDocumentationAsynchronously(applicationContext);
+      }
+    } else if (refreshablePlugins.isEmpty()) {
+      log.warn("SwaggerSpringMvcPlugin have already been initialized!");
+    } else if (!documentation.isDone()) {
+      log.warn("Context refreshed while the swagger documentation is still being built, ignoring it");
+    } else {
+      refreshPlugins();
+    }
+  }
+
+  /**
+   * @param documentationExecutor the executor to build the documentation on, null to build it synchronously on
+   *                              context refresh
+   */
+  public void setDocumentationExecutor(Executor documentationExecutor) {
+    this.documentationExecutor = documentationExecutor;
+  }
+
+  /**
+   * @param swaggerCacheSnapshot where to load the documentation from instead of scanning, when it is up to date, and
+   *                             where to save it after scanning. Null to always scan.
+   */
+  public void setSwaggerCacheSnapshot(SwaggerCacheSnapshot swaggerCacheSnapshot) {
+    this.swaggerCacheSnapshot = swaggerCacheSnapshot;
+  }
+
+  /**
+   * @param generatedApiDocs api docs generated at build time to serve instead of scanning the request mappings. Null
+   *                         to scan.
+   */
+  public void setGeneratedApiDocs(GeneratedApiDocs generatedApiDocs) {
+    this.generatedApiDocs = generatedApiDocs;
+  }
+
+  /**
+   * @param pluginParallelism the maximum number of plugins initialized concurrently, 1 to initialize them one after
+   *                          another. Defaults to 1.
+   */
+  public void setPluginParallelism(int pluginParallelism) {
+    Assert.isTrue(pluginParallelism > 0, "pluginParallelism must be positive");
+    this.pluginParallelism = pluginParallelism;
+  }
+
+  /**
+   * @return a future that completes once every plugin has been initialized, or fails with the exception that
+   * stopped the documentation from being built
+   */
+  public ListenableFuture<Void> getDocumentation() {
+    return documentation;
+  }
+
+  /**
+   * @return true once every plugin has been successfully initialized
+   */
+  public boolean isDocumentationReady() {
+    return documentationReady;
+  }
 
-      Map<String, SwaggerSpringMvcPlugin> plugins = BeanFactoryUtils.beansOfTypeIncludingAncestors(
-              applicationContext,
-              SwaggerSpringMvcPlugin.class);
+  /**
+   * Re-scans the request mappings of a swagger group and replaces its documentation in the swagger cache. Rebuilds
+   * and incremental refreshes are run one at a time.
+   *
+   * @param swaggerGroup the swagger group to rebuild
+   * @return false if the documentation was not built yet or no plugin documents the swagger group
+   */
+  public synchronized boolean rebuild(String swaggerGroup) {
+    if (!documentationReady) {
+      log.warn("Not rebuilding swagger group {}, the documentation was not built yet", swaggerGroup);
+      return false;
+    }
+    for (SwaggerSpringMvcPlugin plugin : initializedPlugins) {
+      if (plugin.getSwaggerGroup().equals(swaggerGroup)) {
+        plugin.initialize();
+        return true;
+      }
+    }
+    log.warn("Not rebuilding swagger group {}, no plugin documents it", swaggerGroup);
+    return false;
+  }
 
-      if (plugins.isEmpty()) {
-        log.info("Did not find any SwaggerSpringMvcPlugins so creating a default one");
-        new SwaggerSpringMvcPlugin(springSwaggerConfig)
-                .build()
-                .initialize();
+  private void buildDocumentationAsynchronously(final ApplicationContext applicationContext) {
+    final SwaggerCache swaggerCache = springSwaggerConfig.swaggerCache();
+    swaggerCache.setBuilding(true);
+    try {
+      documentationExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            buildDocumentation(applicationContext);
+          } catch (RuntimeException e) {
+            log.error("Unable to build the swagger documentation", e);
+          } finally {
+            swaggerCache.setBuilding(false);
+          }
+        }
+      });
+    } catch (RuntimeException e) {
+      swaggerCache.setBuilding(false);
+      documentation.setException(e);
+      throw e;
+    }
+  }
+
+  private void buildDocumentation(ApplicationContext applicationContext) {
+    try {
+      generateDocumentation(applicationContext);
+    } catch (RuntimeException e) {
+      documentation.setException(e);
+      throw e;
+    }
+    documentationReady = true;
+    documentation.set(null);
+  }
+
+  private void generateDocumentation(ApplicationContext applicationContext) {
+    if (null != generatedApiDocs) {
+      log.info("Serving generated api docs, request mappings are not scanned");
+      generatedApiDocs.load(springSwaggerConfig.swaggerCache());
+      return;
+    }
+    Map<String, SwaggerSpringMvcPlugin> plugins = buildPlugins(applicationContext);
+    List<String> swaggerGroups = newArrayList();
+    for (SwaggerSpringMvcPlugin plugin : plugins.values()) {
+      swaggerGroups.add(plugin.getSwaggerGroup());
+    }
+    springSwaggerConfig.swaggerCache().setSwaggerGroupOrder(swaggerGroups);
+    if (null == swaggerCacheSnapshot) {
+      initialize(plugins);
+    } else {
+      SwaggerCache swaggerCache = springSwaggerConfig.swaggerCache();
+      List<String> pluginConfigurations = newArrayList();
+      for (SwaggerSpringMvcPlugin plugin : plugins.values()) {
+        pluginConfigurations.add(plugin.getConfigurationFingerprint());
+      }
+      String fingerprint = HandlerMappingFingerprint.fingerprint(
+              springSwaggerConfig.swaggerRequestMappingHandlerMappings(),
+              springSwaggerConfig.defaultSwaggerPathProvider().getApplicationBasePath(),
+              pluginConfigurations);
+      if (swaggerCacheSnapshot.restore(swaggerCache, fingerprint)) {
+        log.info("Restored the swagger documentation from its snapshot, request mappings are not scanned");
       } else {
-        log.info("Found custom SwaggerSpringMvcPlugins");
+        initialize(plugins);
+        swaggerCacheSnapshot.save(swaggerCache, fingerprint);
+      }
+    }
+    initializedPlugins.addAll(plugins.values());
+    for (SwaggerSpringMvcPlugin plugin : plugins.values()) {
+      if (plugin.isIncrementalRefresh()) {
+        refreshablePlugins.add(plugin);
+      }
+    }
+  }
+
+  /**
+   * Builds the plugins without scanning anything, so that they can rebuild and refresh the documentation even when it
+   * was restored from a snapshot.
+   */
+  private Map<String, SwaggerSpringMvcPlugin> buildPlugins(ApplicationContext applicationContext) {
+    Map<String, SwaggerSpringMvcPlugin> plugins = BeanFactoryUtils.beansOfTypeIncludingAncestors(
+            applicationContext,
+            SwaggerSpringMvcPlugin.class);
 
-        for (Map.Entry<String, SwaggerSpringMvcPlugin> entry : plugins.entrySet()) {
+    if (plugins.isEmpty()) {
+      log.info("Did not find any SwaggerSpringMvcPlugins so creating a default one");
+      return ImmutableMap.of("default", new SwaggerSpringMvcPlugin(springSwaggerConfig).build());
+    }
+    log.info("Found custom SwaggerSpringMvcPlugins");
+    for (Map.Entry<String, SwaggerSpringMvcPlugin> entry : plugins.entrySet()) {
+      log.info("building plugin bean {}", entry.getKey());
+      entry.getValue().build();
+    }
+    return plugins;
+  }
+
+  private synchronized void refreshPlugins() {
+    log.info("Context refreshed, updating the documentation of {} plugin beans", refreshablePlugins.size());
+    for (SwaggerSpringMvcPlugin plugin : refreshablePlugins) {
+      plugin.refresh();
+    }
+  }
+
+  private void initialize(Map<String, SwaggerSpringMvcPlugin> plugins) {
+    int parallelism = Math.min(pluginParallelism, plugins.size());
+    if (parallelism == 1) {
+      for (Map.Entry<String, SwaggerSpringMvcPlugin> entry : plugins.entrySet()) {
+        log.info("initializing plugin bean {}", entry.getKey());
+        entry.getValue().initialize();
+      }
+      return;
+    }
+    log.info("initializing {} plugin beans on {} threads", plugins.size(), parallelism);
+    List<Callable<Void>> initializations = newArrayList();
+    for (final Map.Entry<String, SwaggerSpringMvcPlugin> entry : plugins.entrySet()) {
+      initializations.add(new Callable<Void>() {
+        @Override
+        public Void call() {
           log.info("initializing plugin bean {}", entry.getKey());
-          entry.getValue()
-                  .build()
-                  .initialize();
+          entry.getValue().initialize();
+          return null;
         }
+      });
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+            new ThreadFactoryBuilder().setNameFormat("swagger-plugin-%d").setDaemon(true).build());
+    try {
+      for (Future<Void> initialization : executor.invokeAll(initializations)) {
+        initialization.get();
       }
-      initialized = true;
-    } else {
-      log.warn("SwaggerSpringMvcPlugin have already been initialized!");
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while initializing swagger plugins", e);
+    } finally {
+      executor.shutdownNow();
     }
   }
 }
@@ -1,8 +1,11 @@
 package com.mangofactory.swagger.plugin;
 
 import com.fasterxml.classmate.TypeResolver;
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Ordering;
+import com.google.common.hash.Hashing;
 import com.mangofactory.swagger.authorization.AuthorizationContext;
 import com.mangofactory.swagger.configuration.SpringSwaggerConfig;
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
@@ -34,6 +37,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static com.mangofactory.swagger.models.alternates.Alternates.*;
@@ -70,6 +76,10 @@ public class SwaggerSpringMvcPlugin {
   private ApiListingReferenceScanner apiListingReferenceScanner;
   private AtomicBoolean initialized = new AtomicBoolean(false);
   private Collection<RequestMappingReader> customAnnotationReaders;
+  private boolean lazyApiListings;
+  private int scanParallelism = 1;
+  private boolean incrementalRefresh;
+  private boolean profileCommands;
 
   /**
    * Default constructor.
@@ -341,6 +351,57 @@ public class SwaggerSpringMvcPlugin {
     return this;
   }
 
+  /**
+   * Defers generating the api listings (api declarations) until they are requested. Startup only scans the request
+   * mappings and builds the resource listing; each api listing is generated and cached the first time it is served.
+   * Useful for large applications where only a few api declarations are ever looked at.
+   *
+   * @param lazyApiListings true to generate api listings on first request, defaults to false
+   * @return this SwaggerSpringMvcPlugin
+   */
+  public SwaggerSpringMvcPlugin lazyApiListings(boolean lazyApiListings) {
+    this.lazyApiListings = lazyApiListings;
+    return this;
+  }
+
+  /**
+   * Scans up to this many resource groups (api declarations) concurrently. Any custom annotation readers, model
+   * provider or alternate type rules supplied must then be safe to use from several threads.
+   *
+   * @param scanParallelism the number of threads scanning resource groups, defaults to 1
+   * @return this SwaggerSpringMvcPlugin
+   */
+  public SwaggerSpringMvcPlugin scanParallelism(int scanParallelism) {
+    Assert.isTrue(scanParallelism > 0, "scanParallelism must be positive");
+    this.scanParallelism = scanParallelism;
+    return this;
+  }
+
+  /**
+   * Re-scans the request mappings whenever the application context is refreshed again, for instance after controllers
+   * were reloaded, instead of ignoring the refresh. Only the api listings of resource groups whose request mappings
+   * changed are regenerated.
+   *
+   * @param incrementalRefresh true to update the documentation on every context refresh, defaults to false
+   * @return this SwaggerSpringMvcPlugin
+   */
+  public SwaggerSpringMvcPlugin incrementalRefresh(boolean incrementalRefresh) {
+    this.incrementalRefresh = incrementalRefresh;
+    return this;
+  }
+
+  /**
+   * Records the invocation count, time and allocated bytes of every reader run while scanning, custom annotation
+   * readers included, per reader class. The profile is logged after each scan, the slowest reader first.
+   *
+   * @param profileCommands true to profile the readers, defaults to false
+   * @return this SwaggerSpringMvcPlugin
+   */
+  public SwaggerSpringMvcPlugin profileCommands(boolean profileCommands) {
+    this.profileCommands = profileCommands;
+    return this;
+  }
+
   private ApiInfo defaultApiInfo() {
     return new ApiInfo(
             this.swaggerGroup + " Title",
@@ -359,6 +420,49 @@ public class SwaggerSpringMvcPlugin {
     this.build().swaggerApiResourceListing.initialize();
   }
 
+  /**
+   * Called by the framework on later context refreshes, when incremental refresh is enabled
+   */
+  protected void refresh() {
+    this.build().swaggerApiResourceListing.refresh();
+  }
+
+  protected boolean isIncrementalRefresh() {
+    return incrementalRefresh;
+  }
+
+  protected String getSwaggerGroup() {
+    return swaggerGroup;
+  }
+
+  /**
+   * Called by the framework hence protected
+   *
+   * @return a digest of the effective configuration of the built plugin, so that documentation saved by an earlier
+   * run is only reused if the plugin would document the request mappings the same way
+   */
+  protected String getConfigurationFingerprint() {
+    build();
+    List<Object> settings = Lists.newArrayList();
+    settings.add(swaggerGroup);
+    settings.add(includePatterns);
+    settings.add(apiVersion);
+    settings.add(apiInfo);
+    settings.add(authorizationTypes);
+    settings.add(null == authorizationContext ? null : authorizationContext.getAuthorizations());
+    settings.add(new TreeMap<RequestMethod, List<ResponseMessage>>(swaggerGlobalSettings.getGlobalResponseMessages()));
+    settings.add(typeNames(swaggerGlobalSettings.getIgnorableParameterTypes()));
+    settings.add(typeNames(apiListingReferenceScanner.getExcludeAnnotations()));
+    settings.add(alternateTypeRules);
+    settings.add(swaggerPathProvider.getApiResourcePrefix());
+    settings.add(lazyApiListings);
+    settings.add(implementations(swaggerPathProvider, resourceGroupingStrategy, alternateTypeProvider, modelProvider,
+            apiListingReferenceOrdering, apiDescriptionOrdering));
+    settings.add(implementations(customAnnotationReaders.toArray()));
+    String configuration = Joiner.on('\n').useForNull("null").join(settings);
+    return Hashing.sha1().hashString(configuration, Charsets.UTF_8).toString();
+  }
+
   /**
    * Builds the SwaggerSpringMvcPlugin by merging/overlaying user specified values.
    * It is not necessary to call this method when defined as a spring bean.
@@ -427,6 +531,7 @@ public class SwaggerSpringMvcPlugin {
       this.alternateTypeProvider.addRule(rule);
     }
     swaggerGlobalSettings.setAlternateTypeProvider(this.alternateTypeProvider);
+    swaggerGlobalSettings.setTypeMembersProvider(springSwaggerConfig.defaultTypeMembersProvider());
   }
 
   private void buildSwaggerApiResourceListing() {
@@ -442,6 +547,9 @@ public class SwaggerSpringMvcPlugin {
     swaggerApiResourceListing.setApiListingReferenceOrdering(this.apiListingReferenceOrdering);
     swaggerApiResourceListing.setApiDescriptionOrdering(this.apiDescriptionOrdering);
     swaggerApiResourceListing.setCustomAnnotationReaders(this.customAnnotationReaders);
+    swaggerApiResourceListing.setLazyApiListings(this.lazyApiListings);
+    swaggerApiResourceListing.setScanParallelism(this.scanParallelism);
+    swaggerApiResourceListing.setProfileCommands(this.profileCommands);
   }
 
   private ApiListingReferenceScanner buildApiListingReferenceScanner() {
@@ -458,4 +566,20 @@ public class SwaggerSpringMvcPlugin {
     apiListingReferenceScanner.setIncludePatterns(this.includePatterns);
     return apiListingReferenceScanner;
   }
+
+  private static SortedSet<String> typeNames(Collection<? extends Class> types) {
+    SortedSet<String> names = new TreeSet<String>();
+    for (Class type : types) {
+      names.add(type.getName());
+    }
+    return names;
+  }
+
+  private static List<String> implementations(Object... components) {
+    List<String> names = Lists.newArrayList();
+    for (Object component : components) {
+      names.add(null == component ? null : component.getClass().getName());
+    }
+    return names;
+  }
 }
@@ -1,11 +1,11 @@
 package com.mangofactory.swagger.readers;
 
 import com.fasterxml.classmate.ResolvedType;
-import com.fasterxml.classmate.TypeResolver;
 import com.google.common.base.Optional;
 import com.google.common.collect.Maps;
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
 import com.mangofactory.swagger.core.ModelUtils;
+import com.mangofactory.swagger.core.ScanReport;
 import com.mangofactory.swagger.models.ModelContext;
 import com.mangofactory.swagger.models.ModelProvider;
 import com.mangofactory.swagger.models.ScalaConverters;
@@ -45,6 +45,15 @@ public class ApiModelReader implements Command<RequestMappingContext> {
 
   @Override
   public void execute(RequestMappingContext context) {
+    long start = System.nanoTime();
+    readModels(context);
+    ScanReport scanReport = (ScanReport) context.get("scanReport");
+    if (null != scanReport) {
+      scanReport.recordModelResolution(System.nanoTime() - start);
+    }
+  }
+
+  private void readModels(RequestMappingContext context) {
     HandlerMethod handlerMethod = context.getHandlerMethod();
 
     log.debug("Reading models for handlerMethod |{}|", handlerMethod.getMethod().getName());
@@ -52,8 +61,10 @@ public class ApiModelReader implements Command<RequestMappingContext> {
     Map<String, Model> modelMap = newHashMap();
     SwaggerGlobalSettings swaggerGlobalSettings = (SwaggerGlobalSettings) context.get("swaggerGlobalSettings");
     HandlerMethodResolver handlerMethodResolver
-            = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver());
-    ResolvedType modelType = ModelUtils.handlerReturnType(swaggerGlobalSettings.getTypeResolver(), handlerMethod);
+            = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider());
+    ResolvedType modelType = ModelUtils.handlerReturnType(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider(), handlerMethod);
     modelType = swaggerGlobalSettings.getAlternateTypeProvider().alternateFor(modelType);
 
     ApiOperation apiOperationAnnotation = handlerMethod.getMethodAnnotation(ApiOperation.class);
@@ -61,10 +72,7 @@ public class ApiModelReader implements Command<RequestMappingContext> {
       modelType = asResolved(swaggerGlobalSettings.getTypeResolver(), apiOperationAnnotation.response());
     }
     if (!swaggerGlobalSettings.getIgnorableParameterTypes().contains(modelType.getErasedType())) {
-      ModelContext modelContext = ModelContext.returnValue(modelType);
-      markIgnorablesAsHasSeen(swaggerGlobalSettings.getTypeResolver(),
-              swaggerGlobalSettings.getIgnorableParameterTypes(),
-              modelContext);
+      ModelContext modelContext = ModelContext.returnValue(modelType, swaggerGlobalSettings.getIgnorableTypes());
       Optional<Model> model = modelProvider.modelFor(modelContext);
       if (model.isPresent() && !"void".equals(model.get().name())) {
         log.debug("Swagger generated parameter model id: {}, name: {}, schema: {} models",
@@ -122,14 +130,6 @@ public class ApiModelReader implements Command<RequestMappingContext> {
     }
   }
 
-  private void markIgnorablesAsHasSeen(TypeResolver typeResolver, Set<Class> ignorableParameterTypes,
-                                       ModelContext modelContext) {
-
-    for (Class ignorableParameterType : ignorableParameterTypes) {
-      modelContext.seen(asResolved(typeResolver, ignorableParameterType));
-    }
-  }
-
   private Map<String, Model> readParametersApiModel(HandlerMethodResolver handlerMethodResolver,
                                                     SwaggerGlobalSettings settings, HandlerMethod handlerMethod) {
 
@@ -150,9 +150,7 @@ public class ApiModelReader implements Command<RequestMappingContext> {
                   .contains(pType.getResolvedParameterType().getErasedType())) {
             ResolvedType modelType = settings.getAlternateTypeProvider().alternateFor(pType
                     .getResolvedParameterType());
-            ModelContext modelContext = ModelContext.inputParam(modelType);
-            markIgnorablesAsHasSeen(settings.getTypeResolver(), settings.getIgnorableParameterTypes(),
-                    modelContext);
+            ModelContext modelContext = ModelContext.inputParam(modelType, settings.getIgnorableTypes());
             Optional<Model> pModel = modelProvider.modelFor(modelContext);
             if (pModel.isPresent()) {
               log.debug("Swagger generated parameter model id: {}, name: {}, schema: {} models",
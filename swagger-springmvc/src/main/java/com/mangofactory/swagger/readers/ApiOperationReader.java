@@ -4,6 +4,8 @@ import com.google.common.collect.Lists;
 import com.mangofactory.swagger.authorization.AuthorizationContext;
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
 import com.mangofactory.swagger.core.CommandExecutor;
+import com.mangofactory.swagger.core.CommandProfile;
+import com.mangofactory.swagger.core.ScanReport;
 import com.mangofactory.swagger.ordering.OperationPositionalOrdering;
 import com.mangofactory.swagger.readers.operation.DefaultResponseMessageReader;
 import com.mangofactory.swagger.readers.operation.OperationAuthReader;
@@ -54,12 +56,22 @@ public class ApiOperationReader implements Command<RequestMappingContext> {
 
   @Override
   public void execute(RequestMappingContext outerContext) {
+    long start = System.nanoTime();
+    readOperations(outerContext);
+    ScanReport scanReport = (ScanReport) outerContext.get("scanReport");
+    if (null != scanReport) {
+      scanReport.recordOperationBuilding(System.nanoTime() - start);
+    }
+  }
+
+  private void readOperations(RequestMappingContext outerContext) {
 
     RequestMappingInfo requestMappingInfo = outerContext.getRequestMappingInfo();
     HandlerMethod handlerMethod = outerContext.getHandlerMethod();
     SwaggerGlobalSettings swaggerGlobalSettings = (SwaggerGlobalSettings) outerContext.get("swaggerGlobalSettings");
     AuthorizationContext authorizationContext = (AuthorizationContext) outerContext.get("authorizationContext");
     String requestMappingPattern = (String) outerContext.get("requestMappingPattern");
+    CommandProfile commandProfile = (CommandProfile) outerContext.get("commandProfile");
     RequestMethodsRequestCondition requestMethodsRequestCondition = requestMappingInfo.getMethodsCondition();
     List<Operation> operations = newArrayList();
 
@@ -86,7 +98,8 @@ public class ApiOperationReader implements Command<RequestMappingContext> {
     commandList.addAll(customAnnotationReaders);
     Integer currentCount = 0;
     for (RequestMethod httpRequestMethod : supportedMethods) {
-      CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor = new CommandExecutor();
+      CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor
+              = new CommandExecutor(commandProfile);
 
       RequestMappingContext operationRequestMappingContext = new RequestMappingContext(requestMappingInfo,
               handlerMethod);
@@ -95,6 +108,7 @@ public class ApiOperationReader implements Command<RequestMappingContext> {
       operationRequestMappingContext.put("swaggerGlobalSettings", swaggerGlobalSettings);
       operationRequestMappingContext.put("authorizationContext", authorizationContext);
       operationRequestMappingContext.put("requestMappingPattern", requestMappingPattern);
+      operationRequestMappingContext.put("commandProfile", commandProfile);
 
 
       commandExecutor.execute(commandList, operationRequestMappingContext);
@@ -57,7 +57,8 @@ public class MediaTypeReader implements RequestMappingReader {
   private boolean handlerMethodHasFileParameter(RequestMappingContext context,
       SwaggerGlobalSettings swaggerGlobalSettings) {
 
-    HandlerMethodResolver handlerMethodResolver = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver());
+    HandlerMethodResolver handlerMethodResolver = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider());
     List<ResolvedMethodParameter> methodParameters = handlerMethodResolver.methodParameters(context.getHandlerMethod());
 
     for (ResolvedMethodParameter resolvedMethodParameter : methodParameters) {
@@ -43,7 +43,8 @@ public class DefaultResponseMessageReader extends SwaggerResponseMessageReader {
   private void applyReturnTypeOverride(SwaggerGlobalSettings swaggerGlobalSettings, HandlerMethod handlerMethod,
       Map<Integer, ResponseMessage> byStatusCode) {
 
-    ResolvedType returnType = handlerReturnType(swaggerGlobalSettings.getTypeResolver(), handlerMethod);
+    ResolvedType returnType = handlerReturnType(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider(), handlerMethod);
     returnType = swaggerGlobalSettings.getAlternateTypeProvider().alternateFor(returnType);
     if (!Void.class.equals(returnType.getErasedType()) && !Void.TYPE.equals(returnType.getErasedType())) {
       ResponseMessage responseMessage = byStatusCode.get(200);
@@ -1,8 +1,6 @@
 package com.mangofactory.swagger.readers.operation;
 
-import com.fasterxml.classmate.MemberResolver;
 import com.fasterxml.classmate.ResolvedType;
-import com.fasterxml.classmate.ResolvedTypeWithMembers;
 import com.fasterxml.classmate.TypeResolver;
 import com.fasterxml.classmate.members.ResolvedMethod;
 import com.google.common.base.Optional;
@@ -10,6 +8,7 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Ordering;
 import com.google.common.primitives.Ints;
+import com.mangofactory.swagger.models.TypeMembersProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.LocalVariableTableParameterNameDiscoverer;
@@ -30,9 +29,23 @@ public class HandlerMethodResolver {
 
   private static final Logger log = LoggerFactory.getLogger(HandlerMethodResolver.class);
   private final TypeResolver typeResolver;
+  private final TypeMembersProvider typeMembers;
 
+  /**
+   * @deprecated resolves members with a TypeMembersProvider of its own, use the constructor taking the shared one
+   */
+  @Deprecated
   public HandlerMethodResolver(TypeResolver typeResolver) {
+    this(typeResolver, new TypeMembersProvider(typeResolver));
+  }
+
+  /**
+   * @param typeMembers shared by the readers so that a controller's members are resolved once rather than once per
+   *                    handler method
+   */
+  public HandlerMethodResolver(TypeResolver typeResolver, TypeMembersProvider typeMembers) {
     this.typeResolver = typeResolver;
+    this.typeMembers = typeMembers;
   }
 
   public List<ResolvedMethodParameter> methodParameters(final HandlerMethod methodToResolve) {
@@ -81,21 +94,8 @@ public class HandlerMethodResolver {
 
   private ResolvedMethod getResolvedMethod(final Method methodToResolve, Class<?> beanType) {
     ResolvedType enclosingType = typeResolver.resolve(beanType);
-    MemberResolver resolver = new MemberResolver(typeResolver);
-    resolver.setIncludeLangObject(false);
-    ResolvedTypeWithMembers typeWithMembers = resolver.resolve(enclosingType, null, null);
-    Iterable<ResolvedMethod> filtered = filter(newArrayList(typeWithMembers.getMemberMethods()),
-            methodNamesAreSame(methodToResolve));
-    return resolveToMethodWithMaxResolvedTypes(filtered, methodToResolve);
-  }
-
-  private static Predicate<ResolvedMethod> methodNamesAreSame(final Method methodToResolve) {
-    return new Predicate<ResolvedMethod>() {
-      @Override
-      public boolean apply(ResolvedMethod input) {
-        return input.getRawMember().getName().equals(methodToResolve.getName());
-      }
-    };
+    return resolveToMethodWithMaxResolvedTypes(typeMembers.memberMethods(enclosingType, methodToResolve.getName()),
+            methodToResolve);
   }
 
   private ResolvedMethod resolveToMethodWithMaxResolvedTypes(Iterable<ResolvedMethod> filtered,
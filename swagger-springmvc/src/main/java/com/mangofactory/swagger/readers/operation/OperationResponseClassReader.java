@@ -25,7 +25,8 @@ public class OperationResponseClassReader implements RequestMappingReader {
       log.debug("Overriding response class with annotated response class");
       returnType = swaggerGlobalSettings.getTypeResolver().resolve(methodAnnotation.response());
     } else {
-      returnType = handlerReturnType(swaggerGlobalSettings.getTypeResolver(), handlerMethod);
+      returnType = handlerReturnType(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider(), handlerMethod);
       returnType = swaggerGlobalSettings.getAlternateTypeProvider().alternateFor(returnType);
     }
     if (Void.class.equals(returnType.getErasedType()) || Void.TYPE.equals(returnType.getErasedType())) {
@@ -2,6 +2,7 @@ package com.mangofactory.swagger.readers.operation.parameter;
 
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
 import com.mangofactory.swagger.core.CommandExecutor;
+import com.mangofactory.swagger.core.CommandProfile;
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider;
 import com.mangofactory.swagger.readers.Command;
 import com.mangofactory.swagger.readers.operation.HandlerMethodResolver;
@@ -29,7 +30,8 @@ public class OperationParameterReader extends SwaggerParameterReader {
     HandlerMethod handlerMethod = context.getHandlerMethod();
     SwaggerGlobalSettings swaggerGlobalSettings = (SwaggerGlobalSettings) context.get("swaggerGlobalSettings");
     HandlerMethodResolver handlerMethodResolver
-            = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver());
+            = new HandlerMethodResolver(swaggerGlobalSettings.getTypeResolver(),
+            swaggerGlobalSettings.getTypeMembersProvider());
     AlternateTypeProvider alternateTypeProvider = swaggerGlobalSettings.getAlternateTypeProvider();
 
     List<ResolvedMethodParameter> methodParameters = handlerMethodResolver.methodParameters(handlerMethod);
@@ -57,7 +59,8 @@ public class OperationParameterReader extends SwaggerParameterReader {
         parameterContext.put("resolvedMethodParameter", methodParameter);
         parameterContext.put("swaggerGlobalSettings", swaggerGlobalSettings);
 
-        CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor = new CommandExecutor();
+        CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor
+                = new CommandExecutor((CommandProfile) context.get("commandProfile"));
 
         commandExecutor.execute(commandList, parameterContext);
 
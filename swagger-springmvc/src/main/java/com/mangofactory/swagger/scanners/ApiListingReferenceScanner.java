@@ -56,6 +56,9 @@ public class ApiListingReferenceScanner {
     Assert.notNull(swaggerPathProvider, "swaggerPathProvider is required");
 
     log.info("Scanning for api listing references");
+    //Fresh collections, so the results of an earlier scan handed out already are left as they were
+    apiListingReferences = newArrayList();
+    resourceGroupRequestMappings = ArrayListMultimap.create();
     scanSpringRequestMappings();
     return this.apiListingReferences;
   }
@@ -2,11 +2,16 @@ package com.mangofactory.swagger.scanners;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mangofactory.swagger.authorization.AuthorizationContext;
 import com.mangofactory.swagger.configuration.SwaggerGlobalSettings;
+import com.mangofactory.swagger.core.ApiListingLoader;
 import com.mangofactory.swagger.core.CommandExecutor;
+import com.mangofactory.swagger.core.CommandProfile;
 import com.mangofactory.swagger.core.ResourceGroupingStrategy;
+import com.mangofactory.swagger.core.ScanReport;
 import com.mangofactory.swagger.models.ModelProvider;
 import com.mangofactory.swagger.ordering.ApiDescriptionLexicographicalOrdering;
 import com.mangofactory.swagger.paths.SwaggerPathProvider;
@@ -32,13 +37,18 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.google.common.collect.Lists.*;
 import static com.google.common.collect.Maps.*;
 import static com.google.common.collect.Sets.*;
 import static com.mangofactory.swagger.ScalaUtils.*;
 
-public class ApiListingScanner {
+public class ApiListingScanner implements ApiListingLoader {
   private static final Logger log = LoggerFactory.getLogger(ApiListingScanner.class);
 
   private String apiVersion = "1.0";
@@ -51,6 +61,9 @@ public class ApiListingScanner {
   private final ModelProvider modelProvider;
   private Ordering<ApiDescription> apiDescriptionOrdering = new ApiDescriptionLexicographicalOrdering();
   private Collection<RequestMappingReader> customAnnotationReaders;
+  private int scanParallelism = 1;
+  private ScanReport scanReport;
+  private CommandProfile commandProfile;
 
   public ApiListingScanner(Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings,
                            SwaggerPathProvider swaggerPathProvider,
@@ -65,79 +78,169 @@ public class ApiListingScanner {
     this.customAnnotationReaders = customAnnotationReaders;
   }
 
+  /**
+   * Scans every resource group. With a scanParallelism above one the groups are scanned concurrently; each group's
+   * position is fixed by its place in the iteration order before any scanning starts, so the result is the same as
+   * that of a serial scan.
+   */
   public Map<String, ApiListing> scan() {
     Map<String, ApiListing> apiListingMap = newHashMap();
     int position = 0;
 
     if (null == resourceGroupRequestMappings) {
       log.error("resourceGroupRequestMappings should not be null.");
+    } else if (scanParallelism > 1 && resourceGroupRequestMappings.size() > 1) {
+      scanInParallel(apiListingMap);
     } else {
       for (Map.Entry<ResourceGroup, List<RequestMappingContext>> entry : resourceGroupRequestMappings.entrySet()) {
-
         ResourceGroup resourceGroup = entry.getKey();
+        apiListingMap.put(resourceGroup.getGroupName(), scan(resourceGroup, entry.getValue(), position++));
+      }
+    }
+    return apiListingMap;
+  }
 
-        Set<String> produces = new LinkedHashSet<String>(2);
-        Set<String> consumes = new LinkedHashSet<String>(2);
-        Set<ApiDescription> apiDescriptions = newHashSet();
+  /**
+   * Scans a single resource group, giving its ApiListing the same position a full scan would.
+   *
+   * @param apiDeclaration the group name of the resource group
+   * @return the ApiListing of the resource group or null if there is no such resource group
+   */
+  @Override
+  public ApiListing load(String apiDeclaration) {
+    if (null == resourceGroupRequestMappings) {
+      log.error("resourceGroupRequestMappings should not be null.");
+      return null;
+    }
+    int position = 0;
+    for (Map.Entry<ResourceGroup, List<RequestMappingContext>> entry : resourceGroupRequestMappings.entrySet()) {
+      if (entry.getKey().getGroupName().equals(apiDeclaration)) {
+        log.info("Generating api listing for resource group: {}", apiDeclaration);
+        return scan(entry.getKey(), entry.getValue(), position);
+      }
+      position++;
+    }
+    return null;
+  }
 
-        List<Command<RequestMappingContext>> readers = newArrayList();
-        readers.add(new MediaTypeReader());
-        readers.add(new ApiDescriptionReader(swaggerPathProvider, customAnnotationReaders));
-        readers.add(new ApiModelReader(modelProvider));
+  @Override
+  public Set<String> getApiDeclarations() {
+    Set<String> apiDeclarations = newLinkedHashSet();
+    if (null != resourceGroupRequestMappings) {
+      for (ResourceGroup resourceGroup : resourceGroupRequestMappings.keySet()) {
+        apiDeclarations.add(resourceGroup.getGroupName());
+      }
+    }
+    return apiDeclarations;
+  }
 
-        Map<String, Model> models = new LinkedHashMap<String, Model>();
-        for (RequestMappingContext each : entry.getValue()) {
+  private void scanInParallel(Map<String, ApiListing> apiListingMap) {
+    List<String> groupNames = newArrayList();
+    List<Callable<ApiListing>> scans = newArrayList();
+    int position = 0;
+    for (final Map.Entry<ResourceGroup, List<RequestMappingContext>> entry : resourceGroupRequestMappings.entrySet()) {
+      final int groupPosition = position++;
+      groupNames.add(entry.getKey().getGroupName());
+      scans.add(new Callable<ApiListing>() {
+        @Override
+        public ApiListing call() {
+          return scan(entry.getKey(), entry.getValue(), groupPosition);
+        }
+      });
+    }
+    int parallelism = Math.min(scanParallelism, scans.size());
+    log.info("Scanning {} resource groups on {} threads", scans.size(), parallelism);
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+            new ThreadFactoryBuilder().setNameFormat("swagger-scan-%d").setDaemon(true).build());
+    try {
+      List<Future<ApiListing>> apiListings = executor.invokeAll(scans);
+      for (int index = 0; index < apiListings.size(); index++) {
+        apiListingMap.put(groupNames.get(index), apiListings.get(index).get());
+      }
+    } catch (ExecutionException e) {
+      throw Throwables.propagate(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while scanning resource groups", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 
-          CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor = new CommandExecutor();
-          each.put("authorizationContext", authorizationContext);
-          each.put("swaggerGlobalSettings", swaggerGlobalSettings);
-          each.put("currentResourceGroup", resourceGroup);
+  /**
+   * A request mapping belonging to several resource groups is shared between them, so each group's readers work on
+   * their own copy of its context.
+   */
+  private ApiListing scan(ResourceGroup resourceGroup, List<RequestMappingContext> requestMappings, int position) {
+    long start = System.nanoTime();
+    Set<String> produces = new LinkedHashSet<String>(2);
+    Set<String> consumes = new LinkedHashSet<String>(2);
+    Set<ApiDescription> apiDescriptions = newHashSet();
 
-          Map<String, Object> results = commandExecutor.execute(readers, each);
+    List<Command<RequestMappingContext>> readers = newArrayList();
+    readers.add(new MediaTypeReader());
+    readers.add(new ApiDescriptionReader(swaggerPathProvider, customAnnotationReaders));
+    readers.add(new ApiModelReader(modelProvider));
 
-          List<String> producesMediaTypes = (List<String>) results.get("produces");
-          List<String> consumesMediaTypes = (List<String>) results.get("consumes");
-          Map<String, Model> swaggerModels = (Map<String, Model>) results.get("models");
-          if (null != swaggerModels) {
-            models.putAll(swaggerModels);
-          }
-          produces.addAll(producesMediaTypes);
-          consumes.addAll(consumesMediaTypes);
+    Map<String, Model> models = new LinkedHashMap<String, Model>();
+    for (RequestMappingContext requestMapping : requestMappings) {
+      RequestMappingContext each = requestMapping.copy();
 
-          List<ApiDescription> apiDescriptionList = (List<ApiDescription>) results.get("apiDescriptionList");
-          apiDescriptions.addAll(apiDescriptionList);
-        }
+      CommandExecutor<Map<String, Object>, RequestMappingContext> commandExecutor
+              = new CommandExecutor(commandProfile);
+      each.put("authorizationContext", authorizationContext);
+      each.put("swaggerGlobalSettings", swaggerGlobalSettings);
+      each.put("currentResourceGroup", resourceGroup);
+      if (null != scanReport) {
+        each.put("scanReport", scanReport);
+      }
+      if (null != commandProfile) {
+        each.put("commandProfile", commandProfile);
+      }
 
-        scala.collection.immutable.List<Authorization> authorizations = emptyScalaList();
-        if (null != authorizationContext) {
-          authorizations = authorizationContext.getScalaAuthorizations();
-        }
+      Map<String, Object> results = commandExecutor.execute(readers, each);
 
-        Option modelOption = toOption(toScalaModelMap(models));
+      List<String> producesMediaTypes = (List<String>) results.get("produces");
+      List<String> consumesMediaTypes = (List<String>) results.get("consumes");
+      Map<String, Model> swaggerModels = (Map<String, Model>) results.get("models");
+      if (null != swaggerModels) {
+        models.putAll(swaggerModels);
+      }
+      produces.addAll(producesMediaTypes);
+      consumes.addAll(consumesMediaTypes);
 
-        ArrayList sortedDescriptions = new ArrayList(apiDescriptions);
-        Collections.sort(sortedDescriptions, this.apiDescriptionOrdering);
+      List<ApiDescription> apiDescriptionList = (List<ApiDescription>) results.get("apiDescriptionList");
+      apiDescriptions.addAll(apiDescriptionList);
+    }
 
-        String resourcePath = longestCommonPath(sortedDescriptions);
+    scala.collection.immutable.List<Authorization> authorizations = emptyScalaList();
+    if (null != authorizationContext) {
+      authorizations = authorizationContext.getScalaAuthorizations();
+    }
 
-        ApiListing apiListing = new ApiListing(
-                apiVersion,
-                swaggerVersion,
-                swaggerPathProvider.getApplicationBasePath(),
-                resourcePath,
-                toScalaList(produces),
-                toScalaList(consumes),
-                emptyScalaList(),
-                authorizations,
-                toScalaList(sortedDescriptions),
-                modelOption,
-                toOption(null),
-                position++);
+    Option modelOption = toOption(toScalaModelMap(models));
 
-        apiListingMap.put(resourceGroup.getGroupName(), apiListing);
-      }
+    ArrayList sortedDescriptions = new ArrayList(apiDescriptions);
+    Collections.sort(sortedDescriptions, this.apiDescriptionOrdering);
+
+    String resourcePath = longestCommonPath(sortedDescriptions);
+
+    if (null != scanReport) {
+      scanReport.recordResourceGroup(resourceGroup.getGroupName(), System.nanoTime() - start, models.keySet());
     }
-    return apiListingMap;
+    return new ApiListing(
+            apiVersion,
+            swaggerVersion,
+            swaggerPathProvider.getApplicationBasePath(),
+            resourcePath,
+            toScalaList(produces),
+            toScalaList(consumes),
+            emptyScalaList(),
+            authorizations,
+            toScalaList(sortedDescriptions),
+            modelOption,
+            toOption(null),
+            position);
   }
 
   private String longestCommonPath(ArrayList<ApiDescription> apiDescriptions) {
@@ -177,6 +280,27 @@ public class ApiListingScanner {
     return swaggerGlobalSettings;
   }
 
+  /**
+   * @param scanParallelism the number of resource groups scanned concurrently, defaults to 1
+   */
+  public void setScanParallelism(int scanParallelism) {
+    this.scanParallelism = scanParallelism;
+  }
+
+  /**
+   * @param scanReport records the time spent on each resource group, on model resolution and on operation building
+   */
+  public void setScanReport(ScanReport scanReport) {
+    this.scanReport = scanReport;
+  }
+
+  /**
+   * @param commandProfile records the time and allocations of every reader run while scanning, null not to profile
+   */
+  public void setCommandProfile(CommandProfile commandProfile) {
+    this.commandProfile = commandProfile;
+  }
+
   public void setSwaggerGlobalSettings(SwaggerGlobalSettings swaggerGlobalSettings) {
     this.swaggerGlobalSettings = swaggerGlobalSettings;
   }
@@ -0,0 +1,166 @@
+package com.mangofactory.swagger.scanners;
+
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.io.Files;
+import com.mangofactory.swagger.core.SwaggerCache;
+import com.wordnik.swagger.model.ApiListing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static com.google.common.collect.Sets.*;
+
+/**
+ * Fingerprints everything the generated documentation is derived from, so that documentation generated by an earlier
+ * run can be reused when nothing has changed.
+ *
+ * The fingerprint covers the request mappings and their handler method signatures, the bytecode found in the jars or
+ * class directories that hold the controllers, the types in their signatures and swagger itself, the application
+ * base path and the configuration of the plugins documenting them. Model classes living in other jars than the types
+ * referenced by the handler method signatures are not covered.
+ */
+public class HandlerMappingFingerprint {
+  private static final Logger log = LoggerFactory.getLogger(HandlerMappingFingerprint.class);
+
+  private HandlerMappingFingerprint() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * @param pluginConfigurations the configuration fingerprints of the plugins documenting the request mappings, in
+   *                             any order
+   */
+  public static String fingerprint(Iterable<RequestMappingHandlerMapping> handlerMappings,
+                                   String applicationBasePath, Iterable<String> pluginConfigurations) {
+    SortedSet<String> requestMappings = newTreeSet();
+    Set<Class<?>> types = newLinkedHashSet();
+    types.add(SwaggerCache.class);
+    types.add(ApiListing.class);
+    for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
+      for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+        Method method = entry.getValue().getMethod();
+        requestMappings.add(entry.getKey() + " " + method.toGenericString());
+        addType(types, entry.getValue().getBeanType());
+        addType(types, method.getReturnType());
+        for (Class<?> parameterType : method.getParameterTypes()) {
+          addType(types, parameterType);
+        }
+      }
+    }
+
+    Hasher hasher = Hashing.sha1().newHasher();
+    hasher.putString(String.valueOf(applicationBasePath), Charsets.UTF_8);
+    for (String requestMapping : requestMappings) {
+      hasher.putString(requestMapping, Charsets.UTF_8);
+    }
+    for (String pluginConfiguration : newTreeSet(pluginConfigurations)) {
+      hasher.putString(pluginConfiguration, Charsets.UTF_8);
+    }
+    SortedSet<String> locations = newTreeSet();
+    for (Class<?> type : types) {
+      String location = codeLocation(type);
+      if (null != location && locations.add(location)) {
+        hasher.putString(location, Charsets.UTF_8);
+        putCode(hasher, new File(location), type);
+      }
+    }
+    return hasher.hash().toString();
+  }
+
+  private static void addType(Set<Class<?>> types, Class<?> type) {
+    Class<?> componentType = type;
+    while (componentType.isArray()) {
+      componentType = componentType.getComponentType();
+    }
+    types.add(componentType);
+  }
+
+  private static String codeLocation(Class<?> type) {
+    CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+    if (type.isPrimitive() || null == codeSource || null == codeSource.getLocation()) {
+      //Platform classes have no code source, they are covered by nothing but are also not expected to change
+      return null;
+    }
+    URL location = codeSource.getLocation();
+    try {
+      return new File(location.toURI()).getAbsolutePath();
+    } catch (URISyntaxException e) {
+      return location.toString();
+    } catch (IllegalArgumentException e) {
+      //Not a file url, e.g. a container specific virtual file system
+      return location.toString();
+    }
+  }
+
+  private static void putCode(Hasher hasher, File location, Class<?> type) {
+    try {
+      if (location.isDirectory()) {
+        putClassFiles(hasher, location, "");
+      } else if (location.isFile()) {
+        hasher.putBytes(Files.hash(location, Hashing.sha1()).asBytes());
+      } else {
+        putClassFile(hasher, type);
+      }
+    } catch (IOException e) {
+      log.warn("Unable to read the bytecode at {}, fingerprinting the class {} only", location, type.getName());
+      putClassFile(hasher, type);
+    }
+  }
+
+  private static void putClassFiles(Hasher hasher, File directory, String path) throws IOException {
+    File[] files = directory.listFiles();
+    if (null == files) {
+      return;
+    }
+    Arrays.sort(files);
+    for (File file : files) {
+      if (file.isDirectory()) {
+        putClassFiles(hasher, file, path + file.getName() + "/");
+      } else if (file.getName().endsWith(".class")) {
+        hasher.putString(path + file.getName(), Charsets.UTF_8);
+        hasher.putBytes(Files.hash(file, Hashing.sha1()).asBytes());
+      }
+    }
+  }
+
+  private static void putClassFile(Hasher hasher, Class<?> type) {
+    String className = type.getName();
+    InputStream bytecode = type.getResourceAsStream(className.substring(className.lastIndexOf('.') + 1) + ".class");
+    if (null == bytecode) {
+      hasher.putString(type.getName(), Charsets.UTF_8);
+      return;
+    }
+    try {
+      hasher.putBytes(ByteStreams.toByteArray(bytecode));
+    } catch (IOException e) {
+      hasher.putString(type.getName(), Charsets.UTF_8);
+    } finally {
+      closeQuietly(bytecode);
+    }
+  }
+
+  private static void closeQuietly(InputStream inputStream) {
+    try {
+      inputStream.close();
+    } catch (IOException e) {
+      log.debug("Unable to close bytecode stream", e);
+    }
+  }
+}
@@ -20,6 +20,15 @@ public class RequestMappingContext implements CommandContext<Map<String, Object>
     this.handlerMethod = handlerMethod;
   }
 
+  /**
+   * @return a context for the same request mapping holding a copy of this context's entries
+   */
+  public RequestMappingContext copy() {
+    RequestMappingContext copy = new RequestMappingContext(requestMappingInfo, handlerMethod);
+    copy.context.putAll(context);
+    return copy;
+  }
+
   public Object get(String lookupKey) {
     return context.get(lookupKey);
   }
@@ -2,14 +2,21 @@ package com.mangofactory.swagger.configuration
 import com.fasterxml.classmate.TypeResolver
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.mangofactory.swagger.core.ClassOrApiAnnotationResourceGrouping
+import com.mangofactory.swagger.core.ScanReport
 import com.mangofactory.swagger.core.SwaggerApiResourceListing
 import com.mangofactory.swagger.core.SwaggerCache
+import com.mangofactory.swagger.dummy.models.Pet
+import com.mangofactory.swagger.mixins.ModelProviderSupport
 import com.mangofactory.swagger.mixins.RequestMappingSupport
 import com.mangofactory.swagger.mixins.SpringSwaggerConfigSupport
+import com.mangofactory.swagger.mixins.SwaggerPathProviderSupport
 import com.mangofactory.swagger.models.DefaultModelProvider
+import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration
 import com.mangofactory.swagger.models.ModelDependencyProvider
 import com.mangofactory.swagger.models.ModelProvider
 import com.mangofactory.swagger.models.ObjectMapperBeanPropertyNamingStrategy
+import com.mangofactory.swagger.models.TypeMembersProvider
+import com.mangofactory.swagger.models.property.BeanDescriptionProvider
 import com.mangofactory.swagger.models.property.bean.AccessorsProvider
 import com.mangofactory.swagger.models.property.bean.BeanModelPropertyProvider
 import com.mangofactory.swagger.models.property.constructor.ConstructorModelPropertyProvider
@@ -20,6 +27,9 @@ import com.mangofactory.swagger.ordering.ResourceListingLexicographicalOrdering
 import com.mangofactory.swagger.ordering.ResourceListingPositionalOrdering
 import com.mangofactory.swagger.paths.AbsoluteSwaggerPathProvider
 import com.mangofactory.swagger.paths.SwaggerPathProvider
+import com.mangofactory.swagger.readers.ApiDescriptionReader
+import com.mangofactory.swagger.readers.operation.OperationDeprecatedReader
+import com.mangofactory.swagger.readers.operation.parameter.ParameterNameReader
 import com.mangofactory.swagger.scanners.ApiListingReferenceScanner
 import com.wordnik.swagger.core.SwaggerSpec
 import com.wordnik.swagger.model.*
@@ -28,7 +38,7 @@ import spock.lang.Specification
 
 import static com.mangofactory.swagger.ScalaUtils.*
 
-@Mixin([RequestMappingSupport, SpringSwaggerConfigSupport])
+@Mixin([RequestMappingSupport, SpringSwaggerConfigSupport, SwaggerPathProviderSupport, ModelProviderSupport])
 class SwaggerApiResourceListingSpec extends Specification {
 
   def "assessors"() {
@@ -117,14 +127,16 @@ class SwaggerApiResourceListingSpec extends Specification {
 
       def resolver = new TypeResolver()
       def objectMapper = new ObjectMapper()
-      def fields = new FieldProvider(resolver)
+      def typeMembers = new TypeMembersProvider(resolver)
+      def fields = new FieldProvider(typeMembers)
+      def beanDescriptions = new BeanDescriptionProvider()
       def namingStrategy = new ObjectMapperBeanPropertyNamingStrategy(objectMapper)
 
-      def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(resolver), resolver,
+      def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeMembers), beanDescriptions, resolver,
               settings.alternateTypeProvider, namingStrategy)
       def fieldModelPropertyProvider =
-              new FieldModelPropertyProvider(fields, settings.alternateTypeProvider, namingStrategy)
-      def constructorModelPropertyProvider = new ConstructorModelPropertyProvider(fields,
+              new FieldModelPropertyProvider(fields, beanDescriptions, settings.alternateTypeProvider, namingStrategy)
+      def constructorModelPropertyProvider = new ConstructorModelPropertyProvider(fields, beanDescriptions,
               settings.alternateTypeProvider, namingStrategy)
 
       def modelPropertiesProvider = new DefaultModelPropertiesProvider(beanModelPropertyProvider,
@@ -193,4 +205,162 @@ class SwaggerApiResourceListingSpec extends Specification {
       new ResourceListingPositionalOrdering()      | '/b'      | 1
       new ResourceListingLexicographicalOrdering() | '/a'      | 2
   }
+
+  def "a refresh only regenerates the api listings of the resource groups that changed"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/businesses")] = dummyHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets/{petId}")] = petServiceHandlerMethod()
+      SwaggerApiResourceListing listing = refreshableListing(swaggerCache, handlerMethods)
+      listing.initialize()
+      def initial = swaggerCache.getSwaggerGroup("default")
+
+    when:
+      handlerMethods[requestMappingInfo("/pets")] = petServiceHandlerMethod("addPet", Pet)
+      listing.refresh()
+      def refreshed = swaggerCache.getSwaggerGroup("default")
+
+    then:
+      refreshed.serializedApiListings.keySet() == ['dummy-class', 'pet-service'] as Set
+      refreshed.serializedApiListings['dummy-class'].is(initial.serializedApiListings['dummy-class'])
+      !refreshed.serializedApiListings['pet-service'].is(initial.serializedApiListings['pet-service'])
+      fromScalaList(refreshed.apiListings['pet-service'].apis()).size() == 2
+  }
+
+  def "resource groups no longer mapped are removed on refresh"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/businesses")] = dummyHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets/{petId}")] = petServiceHandlerMethod()
+      SwaggerApiResourceListing listing = refreshableListing(swaggerCache, handlerMethods)
+      listing.initialize()
+
+    when:
+      handlerMethods.remove(requestMappingInfo("/pets/{petId}"))
+      listing.refresh()
+      def refreshed = swaggerCache.getSwaggerGroup("default")
+
+    then:
+      refreshed.apiListings.keySet() == ['dummy-class'] as Set
+      fromScalaList(refreshed.resourceListing.apis()).size() == 1
+  }
+
+  def "an unchanged refresh keeps every api listing"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/businesses")] = dummyHandlerMethod()
+      SwaggerApiResourceListing listing = refreshableListing(swaggerCache, handlerMethods)
+      listing.initialize()
+      def initial = swaggerCache.getSwaggerGroup("default")
+
+    when:
+      listing.refresh()
+
+    then:
+      swaggerCache.getSwaggerGroup("default").serializedApiListings['dummy-class']
+              .is(initial.serializedApiListings['dummy-class'])
+  }
+
+  def "initialization reports the time spent on each scanning phase and what it found"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/businesses")] = dummyHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets/{petId}")] = petServiceHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets")] = petServiceHandlerMethod("addPet", Pet)
+      SwaggerApiResourceListing listing = refreshableListing(swaggerCache, handlerMethods)
+
+    when:
+      listing.initialize()
+      ScanReport report = listing.scanReport
+      def models = swaggerCache.getSwaggerGroup("default").apiListings.values()
+              .collectMany { fromScalaMap(fromOption(it.models())).keySet() } as Set
+
+    then:
+      report.swaggerGroup == "default"
+      report.handlerMethodCount == 3
+      report.resourceGroupCount == 2
+      report.resourceGroupNanos.keySet() == ['dummy-class', 'pet-service'] as Set
+      report.modelCount == models.size()
+      report.requestMappingScanNanos > 0
+      report.apiListingScanNanos > 0
+      report.modelResolutionNanos > 0
+      report.operationBuildingNanos > 0
+      report.toString().startsWith("Scanned swagger group default: 3 handler methods, 2 resource groups")
+  }
+
+  def "a refresh reports only the resource groups it regenerated"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/businesses")] = dummyHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets/{petId}")] = petServiceHandlerMethod()
+      SwaggerApiResourceListing listing = refreshableListing(swaggerCache, handlerMethods)
+      listing.initialize()
+
+    when:
+      handlerMethods[requestMappingInfo("/pets")] = petServiceHandlerMethod("addPet", Pet)
+      listing.refresh()
+
+    then:
+      listing.scanReport.handlerMethodCount == 3
+      listing.scanReport.resourceGroupNanos.keySet() == ['pet-service'] as Set
+  }
+
+  def "profiled readers include the custom annotation readers"() {
+    given:
+      Map handlerMethods = [:]
+      handlerMethods[requestMappingInfo("/pets/{petId}")] = petServiceHandlerMethod()
+      handlerMethods[requestMappingInfo("/pets")] = petServiceHandlerMethod("addPet", Pet)
+      SwaggerApiResourceListing listing = refreshableListing(new SwaggerCache(), handlerMethods)
+      listing.setCustomAnnotationReaders([new OperationDeprecatedReader()])
+      listing.setProfileCommands(true)
+
+    when:
+      listing.initialize()
+
+    then:
+      listing.commandProfile.getEntry(ApiDescriptionReader).count == 2
+      listing.commandProfile.getEntry(OperationDeprecatedReader).count > 2
+      listing.commandProfile.getEntry(ParameterNameReader).count > 0
+      listing.commandProfile.entries*.selfNanos == listing.commandProfile.entries*.selfNanos.sort().reverse()
+  }
+
+  def "readers are not profiled unless asked to"() {
+    given:
+      SwaggerApiResourceListing listing = refreshableListing(new SwaggerCache(),
+              [(requestMappingInfo("/businesses")): dummyHandlerMethod()])
+
+    when:
+      listing.initialize()
+
+    then:
+      listing.commandProfile == null
+  }
+
+  def refreshableListing(SwaggerCache swaggerCache, Map handlerMethods) {
+    RequestMappingHandlerMapping requestMappingHandlerMapping = Mock()
+    requestMappingHandlerMapping.getHandlerMethods() >> { new LinkedHashMap(handlerMethods) }
+
+    ApiListingReferenceScanner apiListingReferenceScanner = new ApiListingReferenceScanner()
+    apiListingReferenceScanner.setRequestMappingHandlerMapping([requestMappingHandlerMapping])
+    apiListingReferenceScanner.setResourceGroupingStrategy(new ClassOrApiAnnotationResourceGrouping())
+    apiListingReferenceScanner.setSwaggerPathProvider(absoluteSwaggerPathProvider())
+    apiListingReferenceScanner.setSwaggerGroup("default")
+
+    def settings = new SwaggerGlobalSettings()
+    settings.ignorableParameterTypes = new SpringSwaggerConfig().defaultIgnorableParameterTypes()
+    settings.alternateTypeProvider = new SwaggerModelsConfiguration().alternateTypeProvider(new TypeResolver())
+
+    SwaggerApiResourceListing listing = new SwaggerApiResourceListing(swaggerCache, "default")
+    listing.setApiListingReferenceScanner(apiListingReferenceScanner)
+    listing.setSwaggerPathProvider(absoluteSwaggerPathProvider())
+    listing.setModelProvider(modelProvider())
+    listing.setSwaggerGlobalSettings(settings)
+    listing.setCustomAnnotationReaders([])
+    listing
+  }
 }
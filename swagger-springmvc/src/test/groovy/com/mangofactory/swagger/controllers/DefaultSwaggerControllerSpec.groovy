@@ -5,10 +5,14 @@ import com.fasterxml.jackson.module.scala.DefaultScalaModule
 import com.mangofactory.swagger.configuration.JacksonSwaggerSupport
 import com.mangofactory.swagger.core.SwaggerApiResourceListing
 import com.mangofactory.swagger.core.SwaggerCache
+import com.mangofactory.swagger.metrics.SwaggerMetrics
+import com.mangofactory.swagger.metrics.SwaggerMetricsSink
 import com.mangofactory.swagger.mixins.ApiListingSupport
 import com.mangofactory.swagger.mixins.AuthSupport
 import com.mangofactory.swagger.mixins.JsonSupport
 import com.wordnik.swagger.model.AuthorizationType
+import org.springframework.http.HttpMethod
+import org.springframework.http.converter.ByteArrayHttpMessageConverter
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter
 import org.springframework.test.web.servlet.MockMvc
 import org.springframework.test.web.servlet.MvcResult
@@ -17,6 +21,9 @@ import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.util.zip.GZIPInputStream
+import java.util.zip.InflaterInputStream
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*
 import static org.springframework.test.web.servlet.setup.MockMvcBuilders.*
@@ -42,7 +49,7 @@ class DefaultSwaggerControllerSpec extends Specification {
       jackson2.setObjectMapper(mapper)
       mockMvc = standaloneSetup(controller)
               .setSingleView(mockView)
-              .setMessageConverters(jackson2)
+              .setMessageConverters(new ByteArrayHttpMessageConverter(), jackson2)
               .build();
    }
 
@@ -70,7 +77,7 @@ class DefaultSwaggerControllerSpec extends Specification {
    def "should respond with api listing for a given resource group"() {
       given:
         SwaggerCache swaggerCache = new SwaggerCache();
-        swaggerCache.swaggerApiListingMap = [swaggerGroup: ['businesses': apiListing()]]
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
         controller.swaggerCache = swaggerCache
       when:
         MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/businesses")).andDo(print()).andReturn()
@@ -87,7 +94,7 @@ class DefaultSwaggerControllerSpec extends Specification {
         def authTypes = new ArrayList<AuthorizationType>()
         authTypes.add(authorizationTypes());
 
-        swaggerCache.swaggerApiResourceListingMap = [swaggerGroup: resourceListing(authTypes)]
+        swaggerCache.addSwaggerResourceListing('swaggerGroup', resourceListing(authTypes))
         controller.swaggerCache = swaggerCache
       when:
         MvcResult result = mockMvc.perform(get("/api-docs?group=swaggerGroup")).andDo(print()).andReturn()
@@ -98,4 +105,309 @@ class DefaultSwaggerControllerSpec extends Specification {
         result.getResponse().getStatus() == 200
         assertDefaultAuth(json)
    }
-}
\ No newline at end of file
+
+   def "should serve the pre-serialized document with its content length"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+        byte[] expected = swaggerCoreSerialize(apiListing()).getBytes("UTF-8")
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/businesses")).andReturn()
+
+      then:
+        result.getResponse().getStatus() == 200
+        result.getResponse().getContentType().startsWith("application/json")
+        result.getResponse().getContentLength() == expected.length
+        result.getResponse().getContentAsByteArray() == expected
+   }
+
+   def "should respond with not found for an unknown api declaration"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+      when:
+        MvcResult result = mockMvc.perform(get(path)).andReturn()
+
+      then:
+        result.getResponse().getStatus() == 404
+      where:
+        path << ["/api-docs/swaggerGroup/unknown", "/api-docs/unknown/businesses"]
+   }
+
+   def "should ask clients to retry documents not yet built by a background build"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
+        swaggerCache.setBuilding(true)
+        controller.swaggerCache = swaggerCache
+      when:
+        MvcResult pending = mockMvc.perform(get("/api-docs/otherGroup/businesses")).andReturn()
+        MvcResult built = mockMvc.perform(get("/api-docs/swaggerGroup/businesses")).andReturn()
+
+      then:
+        pending.getResponse().getStatus() == 503
+        pending.getResponse().getHeader("Retry-After") == "5"
+        built.getResponse().getStatus() == 200
+   }
+
+   @Unroll("Accept-Encoding: #acceptEncoding")
+   def "should serve the precompressed variant the client accepts"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerResourceListing('swaggerGroup', resourceListing([authorizationTypes()]))
+        controller.swaggerCache = swaggerCache
+        byte[] plain = swaggerCache.serializedResourceListingMap['swaggerGroup'].content
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs?group=swaggerGroup")
+                .header("Accept-Encoding", acceptEncoding)).andReturn()
+        def response = result.getResponse()
+
+      then:
+        response.getStatus() == 200
+        response.getHeader("Content-Encoding") == contentEncoding
+        response.getHeader("Vary") == "Accept-Encoding"
+        response.getContentLength() == response.getContentAsByteArray().length
+        decode(response.getContentAsByteArray(), contentEncoding) == plain
+
+      where:
+        acceptEncoding              | contentEncoding
+        "gzip, deflate"             | "gzip"
+        "deflate"                   | "deflate"
+        "gzip;q=0.5, deflate"       | "deflate"
+        "*"                         | "gzip"
+        "gzip;q=0, deflate;q=0"     | null
+        "identity"                  | null
+        "br"                        | null
+   }
+
+   def "should answer HEAD requests from the cached content length"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerResourceListing('swaggerGroup', resourceListing([authorizationTypes()]))
+        controller.swaggerCache = swaggerCache
+        def document = swaggerCache.serializedResourceListingMap['swaggerGroup']
+      when:
+        MvcResult result = mockMvc.perform(request(HttpMethod.HEAD, "/api-docs?group=swaggerGroup")
+                .header("Accept-Encoding", "gzip")).andReturn()
+
+      then:
+        result.getResponse().getStatus() == 200
+        result.getResponse().getContentLength() == document.getContentLength("gzip")
+        result.getResponse().getContentAsByteArray().length == 0
+   }
+
+   def "should tag documents with an entity tag and last modified date"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerResourceListing('swaggerGroup', resourceListing([authorizationTypes()]))
+        controller.swaggerCache = swaggerCache
+      when:
+        def plain = mockMvc.perform(get("/api-docs?group=swaggerGroup")).andReturn().getResponse()
+        def gzipped = mockMvc.perform(get("/api-docs?group=swaggerGroup")
+                .header("Accept-Encoding", "gzip")).andReturn().getResponse()
+
+      then:
+        plain.getHeader("ETag") ==~ /"[0-9a-f]{40}"/
+        gzipped.getHeader("ETag") == plain.getHeader("ETag").replaceAll(/"$/, '-gzip"')
+        plain.getHeader("Last-Modified") != null
+   }
+
+   @Unroll("If-None-Match: #ifNoneMatch")
+   def "should answer If-None-Match with not modified when the entity tag matches"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+        String eTag = swaggerCache.serializedApiListingMap['swaggerGroup']['businesses'].getETag("identity")
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/businesses")
+                .header("If-None-Match", ifNoneMatch.replace('ETAG', eTag))).andReturn()
+
+      then:
+        result.getResponse().getStatus() == expectedStatus
+        result.getResponse().getHeader("ETag") == eTag
+        (result.getResponse().getContentAsByteArray().length == 0) == (expectedStatus == 304)
+
+      where:
+        ifNoneMatch             | expectedStatus
+        'ETAG'                  | 304
+        'W/ETAG'                | 304
+        '"other", ETAG'         | 304
+        '*'                     | 304
+        '"other"'               | 200
+   }
+
+   @Unroll("If-Modified-Since offset: #offset")
+   def "should answer If-Modified-Since with not modified when the document has not changed since"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+        long lastModified = swaggerCache.serializedApiListingMap['swaggerGroup']['businesses'].lastModified
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/businesses")
+                .header("If-Modified-Since", new Date(lastModified + offset))).andReturn()
+
+      then:
+        result.getResponse().getStatus() == expectedStatus
+
+      where:
+        offset   | expectedStatus
+        0        | 304
+        60000    | 304
+        -60000   | 200
+   }
+
+   def "should serve a whole swagger group in a single response"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerGroup('swaggerGroup', resourceListing([authorizationTypes()]),
+                ['businesses': apiListing(), 'accounts': apiListing()])
+        controller.swaggerCache = swaggerCache
+      when:
+        MvcResult result = mockMvc.perform(get(path).header("Accept-Encoding", "gzip")).andReturn()
+        def json = new groovy.json.JsonSlurper().parse(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())), "UTF-8"))
+
+      then:
+        result.getResponse().getStatus() == 200
+        result.getResponse().getHeader("Content-Encoding") == "gzip"
+        json.resourceListing == jsonSlurp(swaggerCoreSerialize(resourceListing([authorizationTypes()])))
+        json.apiListings.keySet() == ['businesses', 'accounts'] as Set
+        json.apiListings.businesses == jsonSlurp(swaggerCoreSerialize(apiListing()))
+
+      where:
+        path << ["/api-docs/bulk", "/api-docs/bulk?group=swaggerGroup"]
+   }
+
+   def "should answer conditional requests for a whole swagger group"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerGroup('swaggerGroup', resourceListing([]), ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+        String eTag = mockMvc.perform(get("/api-docs/bulk?group=swaggerGroup")).andReturn().getResponse().getHeader("ETag")
+      when:
+        MvcResult unchanged = mockMvc.perform(get("/api-docs/bulk?group=swaggerGroup")
+                .header("If-None-Match", eTag)).andReturn()
+        swaggerCache.addSwaggerGroup('swaggerGroup', resourceListing([]), ['accounts': apiListing()])
+        MvcResult changed = mockMvc.perform(get("/api-docs/bulk?group=swaggerGroup")
+                .header("If-None-Match", eTag)).andReturn()
+        MvcResult unknown = mockMvc.perform(get("/api-docs/bulk?group=unknown")).andReturn()
+
+      then:
+        unchanged.getResponse().getStatus() == 304
+        changed.getResponse().getStatus() == 200
+        unknown.getResponse().getStatus() == 404
+   }
+
+   def "should collect serving metrics per swagger group"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addSwaggerGroup('swaggerGroup', resourceListing([]), ['businesses': apiListing()])
+        controller.swaggerCache = swaggerCache
+        SwaggerMetricsSink sink = Mock()
+        SwaggerMetrics swaggerMetrics = new SwaggerMetrics(sink)
+        swaggerMetrics.swaggerCache = swaggerCache
+        controller.swaggerMetrics = swaggerMetrics
+        def apiListing = swaggerCache.getSerializedApiListing('swaggerGroup', 'businesses')
+
+      when:
+        mockMvc.perform(get("/api-docs"))
+        mockMvc.perform(get("/api-docs/swaggerGroup/businesses"))
+        mockMvc.perform(get("/api-docs/swaggerGroup/businesses").header("If-None-Match", apiListing.getETag("identity")))
+        mockMvc.perform(get("/api-docs/unknown/businesses"))
+        def statistics = swaggerMetrics.servingStatistics
+
+      then:
+        1 * sink.documentServed('unknown', 404, 0, _)
+        3 * sink.documentServed('swaggerGroup', _, _, _)
+        statistics.keySet() == ['swaggerGroup'] as Set
+        statistics['swaggerGroup'].requestCount == 3
+        statistics['swaggerGroup'].notModifiedCount == 1
+        statistics['swaggerGroup'].notModifiedRatio == 1d / 3
+        statistics['swaggerGroup'].bytesServed ==
+                apiListing.contentLength + swaggerCache.getSwaggerGroup('swaggerGroup').serializedResourceListing.contentLength
+        statistics['swaggerGroup'].p99LatencyMillis > 0
+
+      cleanup:
+        controller.swaggerMetrics = null
+   }
+
+   def "should serve a page of an api listing with only the models it references"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['orders': orderApiListing()])
+        controller.swaggerCache = swaggerCache
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/orders?path=/orders&offset=1&limit=1"))
+                .andReturn()
+        def json = jsonBodyResponse(result)
+
+      then:
+        result.getResponse().getStatus() == 200
+        result.getResponse().getHeader("X-Total-Count") == "2"
+        result.getResponse().getHeader("ETag") != null
+        json.apis.collect { it.path } == ['/orders']
+        json.models.keySet() == ['Page«Order»', 'Order', 'Customer', 'Address', 'OrderLine'] as Set
+   }
+
+   def "should answer conditional requests for a page of an api listing"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['orders': orderApiListing()])
+        controller.swaggerCache = swaggerCache
+        MvcResult page = mockMvc.perform(get("/api-docs/swaggerGroup/orders?path=/orders&limit=1")
+                .header("Accept-Encoding", "gzip")).andReturn()
+        String eTag = page.getResponse().getHeader("ETag")
+      when:
+        MvcResult unchanged = mockMvc.perform(get("/api-docs/swaggerGroup/orders?path=/orders&limit=1")
+                .header("Accept-Encoding", "gzip").header("If-None-Match", eTag)).andReturn()
+        MvcResult otherPage = mockMvc.perform(get("/api-docs/swaggerGroup/orders?path=/orders&offset=1&limit=1")
+                .header("Accept-Encoding", "gzip").header("If-None-Match", eTag)).andReturn()
+
+      then:
+        page.getResponse().getHeader("Content-Encoding") == "gzip"
+        page.getResponse().getHeader("Last-Modified") ==
+                mockMvc.perform(get("/api-docs/swaggerGroup/orders")).andReturn().getResponse().getHeader("Last-Modified")
+        unchanged.getResponse().getStatus() == 304
+        unchanged.getResponse().getContentAsByteArray().length == 0
+        otherPage.getResponse().getStatus() == 200
+        otherPage.getResponse().getHeader("ETag") != eTag
+   }
+
+   def "should reject invalid paging parameters"() {
+      given:
+        SwaggerCache swaggerCache = new SwaggerCache();
+        swaggerCache.addApiListings('swaggerGroup', ['orders': orderApiListing()])
+        controller.swaggerCache = swaggerCache
+      when:
+        MvcResult result = mockMvc.perform(get("/api-docs/swaggerGroup/orders" + query)).andReturn()
+
+      then:
+        result.getResponse().getStatus() == status
+
+      where:
+        query                | status
+        "?offset=-1"         | 400
+        "?limit=0"           | 400
+        "?limit=1"           | 200
+        "?path=/"            | 200
+   }
+
+   def jsonSlurp(String json) {
+      new groovy.json.JsonSlurper().parseText(json)
+   }
+
+   def decode(byte[] content, String encoding) {
+      switch (encoding) {
+         case "gzip":
+            return new GZIPInputStream(new ByteArrayInputStream(content)).bytes
+         case "deflate":
+            return new InflaterInputStream(new ByteArrayInputStream(content)).bytes
+         default:
+            return content
+      }
+   }
+}
@@ -0,0 +1,117 @@
+package com.mangofactory.swagger.core
+
+import com.mangofactory.swagger.mixins.ApiListingSupport
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import java.util.zip.GZIPInputStream
+
+@Mixin(ApiListingSupport)
+class ApiListingIndexSpec extends Specification {
+
+  def "a selection holds only the models its operations reference, directly or through other models"() {
+    given:
+      ApiListingIndex index = new ApiListingIndex(SerializedDocument.serialize(orderApiListing(), 0))
+
+    when:
+      def selection = json(index.select(pathPrefix, offset, limit))
+
+    then:
+      selection.apis.collect { it.path } == paths
+      selection.models.keySet() == models as Set
+      index.count(pathPrefix) == count
+
+    where:
+      pathPrefix  | offset | limit | paths                         | models                                                       | count
+      "/invoices" | 0      | 10    | ['/invoices/{id}']            | ['Invoice']                                                  | 1
+      "/orders"   | 0      | 1     | ['/orders/{id}']              | ['Order', 'Customer', 'Address', 'OrderLine']                | 2
+      "/orders"   | 1      | 1     | ['/orders']                   | ['Page«Order»', 'Order', 'Customer', 'Address', 'OrderLine'] | 2
+      null        | 2      | 5     | ['/invoices/{id}', '/health'] | ['Invoice']                                                  | 4
+      "/health"   | 0      | 10    | ['/health']                   | []                                                           | 1
+      "/unknown"  | 0      | 10    | []                            | []                                                           | 0
+  }
+
+  def "selecting everything serves the whole api listing"() {
+    given:
+      def apiListing = SerializedDocument.serialize(orderApiListing(), 0)
+
+    when:
+      def selection = new ApiListingIndex(apiListing).select(null, 0, Integer.MAX_VALUE)
+
+    then:
+      json(selection) == json(apiListing)
+  }
+
+  def "an api listing without models selects none"() {
+    when:
+      def selection = json(new ApiListingIndex(SerializedDocument.serialize(apiListing(), 0)).select(null, 0, 10))
+
+    then:
+      !selection.containsKey('models')
+      !selection.containsKey('apis')
+  }
+
+  def "api listings restored from json are indexed as they are served"() {
+    given:
+      byte[] serialized = SerializedDocument.serialize(orderApiListing(), 0).content
+
+    when:
+      def snapshot = SwaggerGroupSnapshot.fromJson(null, ['orders': serialized], 0)
+      def selection = json(snapshot.apiListingIndexes['orders'].select("/orders/", 0, 10))
+
+    then:
+      selection.models.keySet() == ['Order', 'Customer', 'Address', 'OrderLine'] as Set
+  }
+
+  def "an api listing is only indexed when a page is asked for"() {
+    given:
+      ApiListingIndex index = new ApiListingIndex(new SerializedDocument("not json".getBytes("UTF-8"), 0))
+
+    when:
+      index.count(null)
+
+    then:
+      thrown(IllegalArgumentException)
+  }
+
+  def "pages are copied out of the json as it was written"() {
+    given:
+      def apiListing = new SerializedDocument(("""{ "basePath" : "/",
+          "apis" : [ { "path" : "/a", "operations" : [ { "type" : "List[A]" } ] },
+                     { "path" : "/b\\u00e9", "operations" : [ { "type" : "void", "notes" : "[B]" } ] } ],
+          "models" : { "A" : { "properties" : { "b" : { "items" : { "\$ref" : "B" } } } }, "B" : { } },
+          "resourcePath" : "/\\"ab\\"" }""").getBytes("UTF-8"), 0)
+
+    when:
+      def first = json(new ApiListingIndex(apiListing).select(null, 0, 1))
+      def second = json(new ApiListingIndex(apiListing).select("/b\u00e9", 0, 1))
+
+    then:
+      first.apis*.path == ['/a']
+      first.models.keySet() == ['A', 'B'] as Set
+      first.resourcePath == '/"ab"'
+      second.apis*.path == ['/b\u00e9']
+      second.models.isEmpty()
+  }
+
+  def "a page is a view of the api listing it was selected from"() {
+    given:
+      def apiListing = SerializedDocument.serialize(orderApiListing(), 1000000)
+      ApiListingIndex index = new ApiListingIndex(apiListing)
+      def page = index.select("/orders", 0, 1)
+
+    expect:
+      page.lastModified == apiListing.lastModified
+      page.encodings == apiListing.encodings
+      page.getETag("gzip") == index.select("/orders", 0, 1).getETag("gzip")
+      page.getETag("gzip") != page.getETag("identity")
+      page.getETag("gzip") != index.select("/orders", 1, 1).getETag("gzip")
+      page.getETag("gzip") != index.select(null, 0, 1).getETag("gzip")
+      new GZIPInputStream(new ByteArrayInputStream(page.getContent("gzip"))).bytes == page.content
+      page.getContentLength("gzip") == page.getContent("gzip").length
+  }
+
+  def json(ServedDocument document) {
+    new JsonSlurper().parseText(new String(document.getContent(SerializedDocument.IDENTITY), "UTF-8"))
+  }
+}
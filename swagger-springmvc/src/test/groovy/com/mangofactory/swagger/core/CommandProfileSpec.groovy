@@ -0,0 +1,96 @@
+package com.mangofactory.swagger.core
+
+import com.mangofactory.swagger.readers.Command
+import spock.lang.Specification
+
+class CommandProfileSpec extends Specification {
+
+  def "a profiling executor records every command it runs, per command class"() {
+    given:
+      CommandProfile profile = new CommandProfile()
+      def commands = [new QuickCommand(), new SlowCommand(), new QuickCommand()]
+
+    when:
+      2.times { new CommandExecutor(profile).execute(commands, new ResultContext()) }
+
+    then:
+      profile.entries*.commandClass == [SlowCommand, QuickCommand]
+      profile.getEntry(QuickCommand).count == 4
+      profile.getEntry(SlowCommand).count == 2
+      profile.getEntry(SlowCommand).totalNanos >= profile.getEntry(SlowCommand).maxNanos
+      profile.getEntry(SlowCommand).maxNanos >= 5000000
+      profile.getEntry(SlowCommand).allocatedBytes != 0
+      profile.toString().readLines().size() == 3
+  }
+
+  def "commands still run when profiling and results are returned as usual"() {
+    given:
+      def context = new ResultContext()
+
+    when:
+      def result = new CommandExecutor(new CommandProfile()).execute([new QuickCommand()], context)
+
+    then:
+      result == ['quick']
+  }
+
+  def "a failing command is recorded too"() {
+    given:
+      CommandProfile profile = new CommandProfile()
+
+    when:
+      new CommandExecutor(profile).execute([new FailingCommand()], new ResultContext())
+
+    then:
+      thrown(IllegalStateException)
+      profile.getEntry(FailingCommand).count == 1
+  }
+
+  def "commands running other commands are ordered by the time they take themselves"() {
+    given:
+      CommandProfile profile = new CommandProfile()
+
+    when:
+      new CommandExecutor(profile).execute([new WrappingCommand(profile: profile)], new ResultContext())
+
+    then:
+      profile.entries*.commandClass == [SlowCommand, WrappingCommand]
+      def wrapping = profile.getEntry(WrappingCommand)
+      def slow = profile.getEntry(SlowCommand)
+      wrapping.totalNanos >= slow.totalNanos
+      wrapping.selfNanos == wrapping.totalNanos - slow.totalNanos
+      slow.selfNanos == slow.totalNanos
+  }
+
+  static class ResultContext implements CommandContext<List<String>> {
+    List<String> result = []
+  }
+
+  static class QuickCommand implements Command<ResultContext> {
+    void execute(ResultContext context) {
+      context.result << 'quick'
+    }
+  }
+
+  static class SlowCommand implements Command<ResultContext> {
+    void execute(ResultContext context) {
+      context.result << new byte[1024].length.toString()
+      Thread.sleep(5)
+    }
+  }
+
+  static class WrappingCommand implements Command<ResultContext> {
+    CommandProfile profile
+
+    void execute(ResultContext context) {
+      //enough nested work that the wrapper's own overhead cannot outweigh it
+      new CommandExecutor(profile).execute((1..10).collect { new SlowCommand() }, context)
+    }
+  }
+
+  static class FailingCommand implements Command<ResultContext> {
+    void execute(ResultContext context) {
+      throw new IllegalStateException("failed")
+    }
+  }
+}
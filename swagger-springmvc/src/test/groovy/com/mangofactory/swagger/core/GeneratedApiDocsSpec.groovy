@@ -0,0 +1,40 @@
+package com.mangofactory.swagger.core
+
+import com.google.common.io.Files
+import com.mangofactory.swagger.mixins.ApiListingSupport
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Specification
+
+@Mixin(ApiListingSupport)
+class GeneratedApiDocsSpec extends Specification {
+  File directory
+
+  def setup() {
+    directory = Files.createTempDir()
+  }
+
+  def cleanup() {
+    directory.deleteDir()
+  }
+
+  def "api listings of a lazily loaded group are generated before being written"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      ApiListingLoader loader = Mock(ApiListingLoader)
+      loader.getApiDeclarations() >> ['orders', 'businesses']
+      loader.load('orders') >> orderApiListing()
+      loader.load('businesses') >> apiListing()
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+      SwaggerCache loaded = new SwaggerCache()
+
+    when:
+      GeneratedApiDocs.write(cache, directory)
+      new GeneratedApiDocs(new FileSystemResource(directory.path + "/")).load(loaded)
+
+    then:
+      new File(directory, GeneratedApiDocs.INDEX).readLines() == ["group", "group/orders", "group/businesses"]
+      loaded.getSwaggerGroup("group").serializedApiListings.keySet() == ['orders', 'businesses'] as Set
+      loaded.getSerializedApiListing("group", "orders").content ==
+              cache.getSerializedApiListing("group", "orders").content
+  }
+}
@@ -0,0 +1,139 @@
+package com.mangofactory.swagger.core
+
+import com.mangofactory.swagger.mixins.ApiListingSupport
+import com.wordnik.swagger.core.SwaggerSpec
+import com.wordnik.swagger.model.ApiListing
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+import static com.mangofactory.swagger.ScalaUtils.*
+
+@Mixin(ApiListingSupport)
+class SwaggerCacheSnapshotSpec extends Specification {
+  File file
+
+  def setup() {
+    file = File.createTempFile("swagger", ".snapshot")
+    file.delete()
+  }
+
+  def cleanup() {
+    file.delete()
+  }
+
+  def "a saved snapshot restores the same documents in the same order"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("first", resourceListing([]), ['businesses': apiListing()])
+      cache.addSwaggerGroup("second", resourceListing([]), [:])
+      SwaggerCacheSnapshot snapshot = new SwaggerCacheSnapshot(file)
+
+    when:
+      snapshot.save(cache, "fingerprint")
+      SwaggerCache restored = new SwaggerCache()
+
+    then:
+      snapshot.restore(restored, "fingerprint")
+      restored.swaggerGroups.keySet() as List == ["first", "second"]
+      restored.getSwaggerGroup("first").serializedApiListings['businesses'].content ==
+              cache.getSwaggerGroup("first").serializedApiListings['businesses'].content
+      restored.getSwaggerGroup("first").serializedResourceListing.content ==
+              cache.getSwaggerGroup("first").serializedResourceListing.content
+      restored.getSwaggerGroup("second").serializedResourceListing != null
+  }
+
+  def "operations survive a restore as they were serialized and are not read back into swagger objects"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def apiListing = new ApiListing("1.0", SwaggerSpec.version(), "", "/foos", emptyScalaList(), emptyScalaList(),
+              emptyScalaList(), emptyScalaList(), toScalaList([apiDescription('/foos', 'Foo', 'Bar')]), toOption(null),
+              toOption(null), 1)
+      cache.addSwaggerGroup("group", resourceListing([]), ['foos': apiListing, 'orders': orderApiListing()])
+      SwaggerCacheSnapshot snapshot = new SwaggerCacheSnapshot(file)
+
+    when:
+      snapshot.save(cache, "fingerprint")
+      SwaggerCache restored = new SwaggerCache()
+      snapshot.restore(restored, "fingerprint")
+      def operation = new JsonSlurper().parseText(
+              new String(restored.getSerializedApiListing("group", "foos").content, "UTF-8")).apis[0].operations[0]
+
+    then:
+      operation.type == "Foo"
+      operation.parameters[0].type == "Bar"
+      operation.parameters[0].paramType == "body"
+      restored.getSwaggerGroup("group").apiListings.isEmpty()
+      restored.getResourceListing("group") == null
+      restored.swaggerApiListingMap == ['group': [:]]
+      restored.statistics.apiListingCount == 2
+      restored.statistics.modelCount == cache.statistics.modelCount
+  }
+
+  def "restored documents keep the time their documentation was generated"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      long generated = System.currentTimeMillis() - 86400000L
+      cache.addSwaggerGroup("group", SwaggerGroupSnapshot.fromJson(serialized(resourceListing([])),
+              ['businesses': serialized(apiListing())], generated))
+      SwaggerCacheSnapshot snapshot = new SwaggerCacheSnapshot(file)
+
+    when:
+      snapshot.save(cache, "fingerprint")
+      SwaggerCache restored = new SwaggerCache()
+      snapshot.restore(restored, "fingerprint")
+
+    then:
+      restored.getSwaggerGroup("group").lastModified == generated
+      restored.getSwaggerGroup("group").serializedResourceListing.lastModified == generated.intdiv(1000) * 1000
+      restored.getSerializedApiListing("group", "businesses").lastModified == generated.intdiv(1000) * 1000
+      restored.getSerializedSwaggerGroup("group").lastModified == generated.intdiv(1000) * 1000
+  }
+
+  private static byte[] serialized(Object document) {
+    SerializedDocument.serialize(document, 0).content
+  }
+
+  def "a snapshot written for another fingerprint is not loaded"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("group", resourceListing([]), ['businesses': apiListing()])
+      SwaggerCacheSnapshot snapshot = new SwaggerCacheSnapshot(file)
+      snapshot.save(cache, "fingerprint")
+      SwaggerCache restored = new SwaggerCache()
+
+    expect:
+      !snapshot.restore(restored, "changed")
+      restored.swaggerGroups.isEmpty()
+  }
+
+  def "a missing or unreadable snapshot is not loaded"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("group", resourceListing([]), ['businesses': apiListing()])
+      SwaggerCacheSnapshot snapshot = new SwaggerCacheSnapshot(file)
+
+    expect:
+      !snapshot.restore(new SwaggerCache(), "fingerprint")
+
+    when:
+      snapshot.save(cache, "fingerprint")
+      file.bytes = file.bytes[0..<(file.length() - 10)] as byte[]
+      SwaggerCache restored = new SwaggerCache()
+
+    then:
+      !snapshot.restore(restored, "fingerprint")
+      restored.swaggerGroups.isEmpty()
+  }
+
+  def "groups generating their api listings on demand prevent a snapshot from being written"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("group", resourceListing([]), [:], Mock(ApiListingLoader))
+
+    when:
+      new SwaggerCacheSnapshot(file).save(cache, "fingerprint")
+
+    then:
+      !file.exists()
+  }
+}
@@ -0,0 +1,294 @@
+package com.mangofactory.swagger.core
+
+import com.mangofactory.swagger.metrics.SwaggerMetricsSink
+import com.mangofactory.swagger.mixins.ApiListingSupport
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Mixin(ApiListingSupport)
+class SwaggerCacheSpec extends Specification {
+
+  def "a swagger group is published with its resource listing and api listings together"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def resourceListing = resourceListing([])
+      def apiListing = apiListing()
+
+    when:
+      cache.addSwaggerGroup("group", resourceListing, ['businesses': apiListing])
+      def snapshot = cache.getSwaggerGroup("group")
+
+    then:
+      snapshot.resourceListing == resourceListing
+      snapshot.apiListings == ['businesses': apiListing]
+      snapshot.serializedResourceListing != null
+      snapshot.serializedApiListings.keySet() == ['businesses'] as Set
+      cache.getResourceListing("group") == resourceListing
+      cache.swaggerApiListingMap['group']['businesses'] == apiListing
+  }
+
+  def "separately added parts of a group are merged without re-serializing"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+
+    when:
+      cache.addApiListings("group", ['businesses': apiListing()])
+      def serializedApiListing = cache.getSwaggerGroup("group").serializedApiListings['businesses']
+      cache.addSwaggerResourceListing("group", resourceListing([]))
+
+    then:
+      cache.getSwaggerGroup("group").resourceListing != null
+      cache.getSwaggerGroup("group").serializedApiListings['businesses'].is(serializedApiListing)
+  }
+
+  def "a published snapshot is never changed by a later rebuild"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("group", resourceListing([]), ['businesses': apiListing()])
+      def before = cache.getSwaggerGroup("group")
+
+    when:
+      cache.addSwaggerGroup("group", resourceListing([]), [:])
+
+    then:
+      before.apiListings.keySet() == ['businesses'] as Set
+      cache.getSwaggerGroup("group").apiListings.isEmpty()
+  }
+
+  def "an update replaces only the changed and removed api listings of a group"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.addSwaggerGroup("group", resourceListing([]), ['kept': apiListing(), 'changed': apiListing(),
+              'removed': apiListing()])
+      def before = cache.getSwaggerGroup("group")
+      def resourceListing = resourceListing([])
+
+    when:
+      cache.updateSwaggerGroup("group", resourceListing, ['changed': apiListing(), 'added': apiListing()],
+              ['removed'] as Set)
+      def after = cache.getSwaggerGroup("group")
+
+    then:
+      after.resourceListing == resourceListing
+      after.serializedApiListings.keySet() == ['kept', 'changed', 'added'] as Set
+      after.serializedApiListings['kept'].is(before.serializedApiListings['kept'])
+      !after.serializedApiListings['changed'].is(before.serializedApiListings['changed'])
+      before.serializedApiListings.keySet() == ['kept', 'changed', 'removed'] as Set
+  }
+
+  def "the statistics count what every group holds and are sent to the metrics sink on each publication"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      SwaggerMetricsSink sink = Mock()
+      cache.setMetricsSink(sink)
+
+    when:
+      cache.addSwaggerGroup("orders", resourceListing([]), ['orders': orderApiListing(), 'other': orderApiListing()])
+      cache.addSwaggerGroup("empty", resourceListing([]), [:])
+      def statistics = cache.statistics
+
+    then:
+      2 * sink.swaggerCacheUpdated(_ as SwaggerCacheStatistics)
+      statistics.swaggerGroupCount == 2
+      statistics.apiListingCount == 2
+      statistics.modelCount == 6
+      statistics.estimatedRetainedBytes > 3 * cache.getSerializedApiListing("orders", "orders").contentLength
+  }
+
+  def "the statistics follow lazily loaded, updated and replaced api listings"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def loader = { String apiDeclaration -> apiDeclaration == 'orders' ? orderApiListing() : apiListing() } as ApiListingLoader
+      cache.addSwaggerGroup("lazy", resourceListing([]), [:], loader)
+
+    when:
+      cache.getSerializedApiListing("lazy", "orders")
+      cache.getSerializedApiListing("lazy", "businesses")
+      cache.getSerializedApiListing("lazy", "accounts")
+
+    then:
+      cache.statistics.apiListingCount == 3
+      cache.statistics.modelCount == 6
+      cache.statistics.estimatedRetainedBytes == cache.getSwaggerGroup("lazy").estimatedRetainedBytes
+
+    when:
+      cache.updateSwaggerGroup("lazy", resourceListing([]), ['businesses': orderApiListing()], ['orders'] as Set)
+
+    then:
+      cache.statistics.apiListingCount == 2
+      cache.statistics.modelCount == 6
+      cache.statistics.estimatedRetainedBytes == cache.getSwaggerGroup("lazy").estimatedRetainedBytes
+
+    when:
+      cache.addSwaggerGroup("lazy", resourceListing([]), ['accounts': apiListing()])
+      cache.getSerializedSwaggerGroup("lazy")
+
+    then:
+      cache.statistics.swaggerGroupCount == 1
+      cache.statistics.apiListingCount == 1
+      cache.statistics.modelCount == 0
+      cache.statistics.estimatedRetainedBytes == cache.getSwaggerGroup("lazy").estimatedRetainedBytes
+  }
+
+  def "the default group is the first group published"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+
+    expect:
+      cache.getDefaultSwaggerGroup() == null
+
+    when:
+      cache.addSwaggerGroup("first", resourceListing([]), [:])
+      cache.addSwaggerGroup("second", resourceListing([]), [:])
+      cache.addSwaggerGroup("first", resourceListing([]), ['businesses': apiListing()])
+
+    then:
+      cache.getDefaultSwaggerGroup().is(cache.getSwaggerGroup("first"))
+      cache.swaggerGroups.keySet() as List == ["first", "second"]
+  }
+
+  def "groups are listed in the swagger group order whatever order they are published in"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      cache.swaggerGroupOrder = ["first", "second", "third"]
+
+    when:
+      cache.addSwaggerGroup("unlisted", resourceListing([]), [:])
+      cache.addSwaggerGroup("third", resourceListing([]), [:])
+      cache.addSwaggerGroup("first", resourceListing([]), [:])
+      cache.addSwaggerGroup("third", resourceListing([]), ['businesses': apiListing()])
+      cache.addSwaggerGroup("second", resourceListing([]), [:])
+
+    then:
+      cache.getDefaultSwaggerGroup().is(cache.getSwaggerGroup("first"))
+      cache.swaggerGroups.keySet() as List == ["first", "second", "third", "unlisted"]
+      cache.getSwaggerGroup("third").serializedApiListings.keySet() == ["businesses"] as Set
+  }
+
+  def "groups published concurrently are all retained"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def executor = Executors.newFixedThreadPool(8)
+      def start = new CountDownLatch(1)
+      def groups = (1..50).collect { "group$it".toString() }
+
+    when:
+      groups.each { group ->
+        executor.submit {
+          start.await()
+          cache.addApiListings(group, ['businesses': apiListing()])
+          cache.addSwaggerResourceListing(group, resourceListing([]))
+        }
+      }
+      start.countDown()
+      executor.shutdown()
+      executor.awaitTermination(30, TimeUnit.SECONDS)
+
+    then:
+      cache.swaggerGroups.keySet() == groups as Set
+      cache.swaggerGroups.values().every { it.resourceListing != null && it.apiListings.size() == 1 }
+  }
+
+  def "api listings of a lazily loaded group are generated once on first request"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      ApiListingLoader loader = Mock(ApiListingLoader)
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+
+    when:
+      def first = cache.getSerializedApiListing("group", "businesses")
+      def second = cache.getSerializedApiListing("group", "businesses")
+
+    then:
+      1 * loader.load("businesses") >> apiListing()
+      first.is(second)
+      cache.getSwaggerGroup("group").apiListings.keySet() == ['businesses'] as Set
+  }
+
+  def "the index of an api listing comes from the snapshot holding the listing served"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def loader = { String apiDeclaration ->
+        //the group is rebuilt without the api listing while it is being generated
+        cache.addSwaggerGroup("group", resourceListing([]), [:])
+        orderApiListing()
+      } as ApiListingLoader
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+
+    when:
+      def index = cache.getApiListingIndex("group", "orders")
+
+    then:
+      index != null
+      index.count(null) == orderApiListing().apis().size()
+      cache.getSwaggerGroup("group").apiListings.isEmpty()
+  }
+
+  def "an api declaration the loader does not know is not cached"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      ApiListingLoader loader = Mock(ApiListingLoader)
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+
+    when:
+      def loaded = cache.getSerializedApiListing("group", "unknown")
+
+    then:
+      1 * loader.load("unknown") >> null
+      loaded == null
+      cache.getSwaggerGroup("group").apiListings.isEmpty()
+      cache.getSerializedApiListing("unknown", "businesses") == null
+  }
+
+  def "a whole lazily loaded group is generated before being served"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      ApiListingLoader loader = Mock(ApiListingLoader)
+      loader.getApiDeclarations() >> (['businesses', 'accounts'] as Set)
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+
+    when:
+      def group = cache.getSerializedSwaggerGroup("group")
+
+    then:
+      1 * loader.load("businesses") >> apiListing()
+      1 * loader.load("accounts") >> apiListing()
+      new groovy.json.JsonSlurper().parseText(new String(group.content, "UTF-8")).apiListings.keySet() == ['businesses', 'accounts'] as Set
+      cache.getSerializedSwaggerGroup("group").is(cache.getSerializedSwaggerGroup("group"))
+      cache.getSerializedSwaggerGroup("unknown") == null
+  }
+
+  def "concurrent first requests for an api listing share a single build"() {
+    given:
+      SwaggerCache cache = new SwaggerCache()
+      def builds = new AtomicInteger()
+      def loader = { String apiDeclaration ->
+        builds.incrementAndGet()
+        Thread.sleep(50)
+        apiListing()
+      } as ApiListingLoader
+      cache.addSwaggerGroup("group", resourceListing([]), [:], loader)
+      def executor = Executors.newFixedThreadPool(8)
+      def start = new CountDownLatch(1)
+
+    when:
+      def futures = (1..16).collect {
+        executor.submit({
+          start.await()
+          cache.getSerializedApiListing("group", "businesses")
+        } as Callable)
+      }
+      start.countDown()
+      def served = futures.collect { it.get(30, TimeUnit.SECONDS) }
+      executor.shutdown()
+
+    then:
+      builds.get() == 1
+      served.every { it.is(served[0]) }
+  }
+}
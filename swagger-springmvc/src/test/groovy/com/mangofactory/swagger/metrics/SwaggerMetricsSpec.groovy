@@ -0,0 +1,71 @@
+package com.mangofactory.swagger.metrics
+
+import com.mangofactory.swagger.core.SwaggerCache
+import com.mangofactory.swagger.mixins.ApiListingSupport
+import com.mangofactory.swagger.plugin.SwaggerPluginAdapter
+import spock.lang.Specification
+
+import javax.management.ObjectName
+import javax.management.openmbean.CompositeData
+import javax.management.openmbean.TabularData
+import java.lang.management.ManagementFactory
+
+@Mixin(ApiListingSupport)
+class SwaggerMetricsSpec extends Specification {
+
+  def "latencies are counted in buckets at most a quarter wide"() {
+    expect:
+      ServingStatistics.upperBound(ServingStatistics.bucket(nanos)) >= nanos
+      ServingStatistics.upperBound(ServingStatistics.bucket(nanos)) <= Math.max(nanos * 1.25d, 3d)
+
+    where:
+      nanos << [0, 1, 3, 4, 7, 8, 9, 1000, 1023, 1024, 1500000, 999999999, Long.MAX_VALUE]
+  }
+
+  def "percentiles are read from the latency distribution"() {
+    given:
+      ServingStatistics statistics = new ServingStatistics()
+
+    when:
+      90.times { statistics.record(false, 10, 1000000) }
+      10.times { statistics.record(true, 0, 100000000) }
+
+    then:
+      statistics.medianLatencyMillis >= 1 && statistics.medianLatencyMillis < 1.25
+      statistics.p90LatencyMillis >= 1 && statistics.p90LatencyMillis < 1.25
+      statistics.p99LatencyMillis >= 100 && statistics.p99LatencyMillis < 125
+      statistics.notModifiedRatio == 0.1
+      statistics.bytesServed == 900
+      new ServingStatistics().p99LatencyMillis == 0
+  }
+
+  def "the metrics are readable and a swagger group can be rebuilt through jmx"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      swaggerCache.addSwaggerGroup('orders', resourceListing([]), ['orders': orderApiListing()])
+      SwaggerPluginAdapter swaggerPluginAdapter = Mock()
+      SwaggerMetrics swaggerMetrics = new SwaggerMetrics()
+      swaggerMetrics.swaggerCache = swaggerCache
+      swaggerMetrics.swaggerPluginAdapter = swaggerPluginAdapter
+      swaggerMetrics.objectName = "com.mangofactory.swagger:type=SwaggerMetrics,name=spec"
+      swaggerMetrics.afterPropertiesSet()
+      swaggerMetrics.documentServed('orders', 200, 100, 1000)
+      def server = ManagementFactory.platformMBeanServer
+      def name = new ObjectName("com.mangofactory.swagger:type=SwaggerMetrics,name=spec")
+
+    when:
+      CompositeData cacheStatistics = server.getAttribute(name, "SwaggerCacheStatistics")
+      TabularData servingStatistics = server.getAttribute(name, "ServingStatistics")
+      def rebuilt = server.invoke(name, "rebuildSwaggerGroup", ['orders'] as Object[], [String.name] as String[])
+
+    then:
+      1 * swaggerPluginAdapter.rebuild('orders') >> true
+      rebuilt
+      cacheStatistics.get("swaggerGroupCount") == 1
+      cacheStatistics.get("modelCount") == 6
+      servingStatistics.get(['orders'] as Object[]).get("value").get("bytesServed") == 100
+
+    cleanup:
+      swaggerMetrics.destroy()
+  }
+}
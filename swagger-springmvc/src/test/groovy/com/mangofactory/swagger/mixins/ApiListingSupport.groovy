@@ -1,8 +1,15 @@
 package com.mangofactory.swagger.mixins
 import com.wordnik.swagger.core.SwaggerSpec
+import com.wordnik.swagger.model.AnyAllowableValues$
+import com.wordnik.swagger.model.ApiDescription
 import com.wordnik.swagger.model.ApiListing
 import com.wordnik.swagger.model.ApiListingReference
+import com.wordnik.swagger.model.Model
+import com.wordnik.swagger.model.ModelProperty
+import com.wordnik.swagger.model.ModelRef
 import com.wordnik.swagger.model.OAuth
+import com.wordnik.swagger.model.Operation
+import com.wordnik.swagger.model.Parameter
 import com.wordnik.swagger.model.ResourceListing
 
 import static com.mangofactory.swagger.ScalaUtils.*
@@ -38,4 +45,46 @@ class ApiListingSupport {
               toScalaList(authorizationTypes),
               toOption(null))
    }
+
+   /**
+    * An order api whose models reference each other: Order -> Customer -> Address, Order -> List[OrderLine] and
+    * Page«Order» -> List[Order]. Invoice stands alone.
+    */
+   def orderApiListing() {
+      def models = [
+              'Order'       : model('Order', [customer: property('Customer'), lines: property('List', 'OrderLine')]),
+              'Customer'    : model('Customer', [address: property('Address')]),
+              'Address'     : model('Address', [street: property('string')]),
+              'OrderLine'   : model('OrderLine', [quantity: property('integer')]),
+              'Invoice'     : model('Invoice', [total: property('double')]),
+              'Page«Order»' : model('Page«Order»', [content: property('List', 'Order')])
+      ]
+      def apis = [
+              apiDescription('/orders/{id}', 'Order'),
+              apiDescription('/orders', 'Page«Order»'),
+              apiDescription('/invoices/{id}', 'void', 'Invoice'),
+              apiDescription('/health', 'void')
+      ]
+      new ApiListing("1.0", SwaggerSpec.version(), "", "/", emptyScalaList(), emptyScalaList(), emptyScalaList(),
+              emptyScalaList(), toScalaList(apis), toOption(toScalaModelMap(models)), toOption(null), 1)
+   }
+
+   def apiDescription(String path, String responseClass, String parameterType = null) {
+      def parameters = parameterType ? [new Parameter("body", toOption(null), toOption(null), true, false,
+              parameterType, AnyAllowableValues$.MODULE$, "body", toOption(null))] : []
+      def operation = new Operation("GET", "", "", responseClass, path, 0, emptyScalaList(), emptyScalaList(),
+              emptyScalaList(), emptyScalaList(), toScalaList(parameters), emptyScalaList(), toOption(null))
+      new ApiDescription(path, toOption(null), toScalaList([operation]))
+   }
+
+   def model(String name, Map<String, ModelProperty> properties) {
+      def scalaProperties = new scala.collection.mutable.LinkedHashMap<String, ModelProperty>()
+      properties.each { key, value -> scalaProperties.put(key, value) }
+      new Model(name, name, name, scalaProperties, toOption(null), toOption(null), toOption(null), emptyScalaList())
+   }
+
+   def property(String type, String itemType = null) {
+      new ModelProperty(type, type, 0, false, toOption(null), AnyAllowableValues$.MODULE$,
+              toOption(itemType ? new ModelRef(itemType, toOption(null), toOption(null)) : null))
+   }
 }
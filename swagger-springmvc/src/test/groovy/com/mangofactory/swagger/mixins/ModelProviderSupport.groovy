@@ -6,7 +6,9 @@ import com.mangofactory.swagger.models.DefaultModelProvider
 import com.mangofactory.swagger.models.ModelDependencyProvider
 import com.mangofactory.swagger.models.ModelProvider
 import com.mangofactory.swagger.models.ObjectMapperBeanPropertyNamingStrategy
+import com.mangofactory.swagger.models.TypeMembersProvider
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider
+import com.mangofactory.swagger.models.property.BeanDescriptionProvider
 import com.mangofactory.swagger.models.property.bean.AccessorsProvider
 import com.mangofactory.swagger.models.property.bean.BeanModelPropertyProvider
 import com.mangofactory.swagger.models.property.constructor.ConstructorModelPropertyProvider
@@ -19,16 +21,19 @@ class ModelProviderSupport {
   ModelProvider modelProvider(TypeResolver typeResolver = new TypeResolver(),
                               AlternateTypeProvider alternateTypeProvider = new AlternateTypeProvider()) {
 
-    def fields = new FieldProvider(typeResolver)
+    def typeMembers = new TypeMembersProvider(typeResolver)
+    def fields = new FieldProvider(typeMembers)
+
+    def beanDescriptions = new BeanDescriptionProvider()
 
     def objectMapper = new ObjectMapper()
     def namingStrategy = new ObjectMapperBeanPropertyNamingStrategy(objectMapper)
 
-    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeResolver), typeResolver,
+    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeMembers), beanDescriptions, typeResolver,
             alternateTypeProvider, namingStrategy)
-    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
     def constructorModelPropertyProvider =
-            new ConstructorModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+            new ConstructorModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
 
     def modelPropertiesProvider = new DefaultModelPropertiesProvider(beanModelPropertyProvider,
             fieldModelPropertyProvider, constructorModelPropertyProvider)
@@ -41,17 +46,20 @@ class ModelProviderSupport {
   ModelProvider modelProviderWithSnakeCaseNamingStrategy(TypeResolver typeResolver = new TypeResolver(),
                               AlternateTypeProvider alternateTypeProvider = new AlternateTypeProvider()) {
 
-    def fields = new FieldProvider(typeResolver)
+    def typeMembers = new TypeMembersProvider(typeResolver)
+    def fields = new FieldProvider(typeMembers)
+
+    def beanDescriptions = new BeanDescriptionProvider()
 
     def objectMapper = new ObjectMapper()
     objectMapper.setPropertyNamingStrategy(PropertyNamingStrategy.CAMEL_CASE_TO_LOWER_CASE_WITH_UNDERSCORES)
     def namingStrategy = new ObjectMapperBeanPropertyNamingStrategy(objectMapper)
 
-    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeResolver), typeResolver,
+    def beanModelPropertyProvider = new BeanModelPropertyProvider(new AccessorsProvider(typeMembers), beanDescriptions, typeResolver,
             alternateTypeProvider, namingStrategy)
-    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+    def fieldModelPropertyProvider = new FieldModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
     def constructorModelPropertyProvider =
-            new ConstructorModelPropertyProvider(fields, alternateTypeProvider, namingStrategy)
+            new ConstructorModelPropertyProvider(fields, beanDescriptions, alternateTypeProvider, namingStrategy)
 
     def modelPropertiesProvider = new DefaultModelPropertiesProvider(beanModelPropertyProvider,
             fieldModelPropertyProvider, constructorModelPropertyProvider)
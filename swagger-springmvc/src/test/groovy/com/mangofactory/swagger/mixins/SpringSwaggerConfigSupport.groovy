@@ -2,6 +2,7 @@ package com.mangofactory.swagger.mixins
 
 import com.fasterxml.classmate.TypeResolver
 import com.mangofactory.swagger.configuration.SpringSwaggerConfig
+import com.mangofactory.swagger.models.TypeMembersProvider
 import com.mangofactory.swagger.models.alternates.AlternateTypeProvider
 import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration
 
@@ -14,6 +15,7 @@ class SpringSwaggerConfigSupport {
     def typeResolver = new TypeResolver()
     springSwaggerConfig.alternateTypeProvider = modelConfig.alternateTypeProvider(typeResolver)
     springSwaggerConfig.typeResolver = new TypeResolver()
+    springSwaggerConfig.typeMembersProvider = new TypeMembersProvider(typeResolver)
     springSwaggerConfig
   }
 }
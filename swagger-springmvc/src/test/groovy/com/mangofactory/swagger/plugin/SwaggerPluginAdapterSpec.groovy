@@ -1,10 +1,23 @@
 package com.mangofactory.swagger.plugin
 
 import com.mangofactory.swagger.configuration.SpringSwaggerConfig
+import com.mangofactory.swagger.core.GeneratedApiDocs
+import com.mangofactory.swagger.core.SwaggerCache
+import com.mangofactory.swagger.core.SwaggerCacheSnapshot
+import com.mangofactory.swagger.paths.SwaggerPathProvider
+import com.wordnik.swagger.model.ResourceListing
 import org.springframework.context.ApplicationContext
 import org.springframework.context.event.ContextRefreshedEvent
 import spock.lang.Specification
 
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.CyclicBarrier
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+import static com.mangofactory.swagger.ScalaUtils.*
+
 class SwaggerPluginAdapterSpec extends Specification {
 
   def "default plugin creation"() {
@@ -48,4 +61,353 @@ class SwaggerPluginAdapterSpec extends Specification {
       1 * swaggerSpringMvcPlugin.build() >> swaggerSpringMvcPlugin
       1 * swaggerSpringMvcPlugin.initialize()
   }
+
+  def "plugins are initialized on the documentation executor when one is configured"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      ApplicationContext applicationContext = Mock()
+
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      List<Runnable> submitted = []
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.documentationExecutor = { Runnable runnable -> submitted << runnable } as Executor
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      0 * swaggerSpringMvcPlugin.initialize()
+      submitted.size() == 1
+      swaggerCache.building
+      !swaggerPluginAdapter.documentationReady
+      !swaggerPluginAdapter.documentation.done
+
+    when:
+      submitted[0].run()
+
+    then:
+      1 * swaggerSpringMvcPlugin.build() >> swaggerSpringMvcPlugin
+      1 * swaggerSpringMvcPlugin.initialize()
+      !swaggerCache.building
+      swaggerPluginAdapter.documentationReady
+      swaggerPluginAdapter.documentation.done
+  }
+
+  def "a failed asynchronous build fails the documentation future"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      ApplicationContext applicationContext = Mock()
+
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      swaggerSpringMvcPlugin.build() >> { throw new IllegalStateException("scan failed") }
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.documentationExecutor = { Runnable runnable -> runnable.run() } as Executor
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+      swaggerPluginAdapter.documentation.get()
+
+    then:
+      def e = thrown ExecutionException
+      e.cause.message == "scan failed"
+      !swaggerCache.building
+      !swaggerPluginAdapter.documentationReady
+  }
+
+  def "plugins do not scan when the documentation is restored from a snapshot"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      springSwaggerConfig.swaggerRequestMappingHandlerMappings() >> []
+      springSwaggerConfig.defaultSwaggerPathProvider() >> Stub(SwaggerPathProvider)
+      ApplicationContext applicationContext = Mock()
+
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      swaggerSpringMvcPlugin.getConfigurationFingerprint() >> "configuration"
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      SwaggerCacheSnapshot swaggerCacheSnapshot = Mock(SwaggerCacheSnapshot)
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.swaggerCacheSnapshot = swaggerCacheSnapshot
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      1 * swaggerCacheSnapshot.restore(swaggerCache, _ as String) >> restored
+      1 * swaggerSpringMvcPlugin.build() >> swaggerSpringMvcPlugin
+      (restored ? 0 : 1) * swaggerSpringMvcPlugin.initialize()
+      (restored ? 0 : 1) * swaggerCacheSnapshot.save(swaggerCache, _ as String)
+      swaggerPluginAdapter.documentationReady
+
+    where:
+      restored << [true, false]
+  }
+
+  def "the documentation restored from a snapshot is rebuilt and refreshed by the plugins"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      springSwaggerConfig.swaggerRequestMappingHandlerMappings() >> []
+      springSwaggerConfig.defaultSwaggerPathProvider() >> Stub(SwaggerPathProvider)
+      ApplicationContext applicationContext = Mock()
+
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      swaggerSpringMvcPlugin.getConfigurationFingerprint() >> "configuration"
+      swaggerSpringMvcPlugin.getSwaggerGroup() >> "orders"
+      swaggerSpringMvcPlugin.isIncrementalRefresh() >> true
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      SwaggerCacheSnapshot swaggerCacheSnapshot = Stub(SwaggerCacheSnapshot)
+      swaggerCacheSnapshot.restore(swaggerCache, _ as String) >> true
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.swaggerCacheSnapshot = swaggerCacheSnapshot
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    when:
+      boolean rebuilt = swaggerPluginAdapter.rebuild("orders")
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      rebuilt
+      1 * swaggerSpringMvcPlugin.initialize()
+      1 * swaggerSpringMvcPlugin.refresh()
+  }
+
+  def "the snapshot fingerprint covers the configuration of the plugins"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      springSwaggerConfig.swaggerRequestMappingHandlerMappings() >> []
+      springSwaggerConfig.defaultSwaggerPathProvider() >> Stub(SwaggerPathProvider)
+      def fingerprints = []
+      SwaggerCacheSnapshot swaggerCacheSnapshot = Stub(SwaggerCacheSnapshot)
+      swaggerCacheSnapshot.restore(swaggerCache, _ as String) >> { fingerprints << it[1]; true }
+
+    when:
+      ["orders", "orders", "customers"].each { configuration ->
+        SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Stub(SwaggerSpringMvcPlugin)
+        swaggerSpringMvcPlugin.getConfigurationFingerprint() >> configuration
+        ApplicationContext applicationContext = Stub()
+        applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+        SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+        swaggerPluginAdapter.swaggerCacheSnapshot = swaggerCacheSnapshot
+        swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+      }
+
+    then:
+      fingerprints[0] == fingerprints[1]
+      fingerprints[0] != fingerprints[2]
+  }
+
+  def "generated api docs are served without running any plugin"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      ApplicationContext applicationContext = Mock()
+
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      GeneratedApiDocs generatedApiDocs = Mock(GeneratedApiDocs)
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.generatedApiDocs = generatedApiDocs
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      1 * generatedApiDocs.load(swaggerCache)
+      0 * swaggerSpringMvcPlugin._
+      swaggerPluginAdapter.documentationReady
+  }
+
+  def "later context refreshes are ignored unless a plugin refreshes incrementally"() {
+    given:
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      ApplicationContext applicationContext = Mock()
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      swaggerSpringMvcPlugin.isIncrementalRefresh() >> incrementalRefresh
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      0 * swaggerSpringMvcPlugin.initialize()
+      (incrementalRefresh ? 1 : 0) * swaggerSpringMvcPlugin.refresh()
+
+    where:
+      incrementalRefresh << [true, false]
+  }
+
+  def "a swagger group is rebuilt by the plugin documenting it"() {
+    given:
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      ApplicationContext applicationContext = Mock()
+      SwaggerSpringMvcPlugin swaggerSpringMvcPlugin = Mock(SwaggerSpringMvcPlugin)
+      swaggerSpringMvcPlugin.build() >> swaggerSpringMvcPlugin
+      swaggerSpringMvcPlugin.getSwaggerGroup() >> "orders"
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> ['plugin': swaggerSpringMvcPlugin]
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      boolean rebuiltEarly = swaggerPluginAdapter.rebuild("orders")
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    when:
+      boolean rebuilt = swaggerPluginAdapter.rebuild(swaggerGroup)
+
+    then:
+      !rebuiltEarly
+      rebuilt == expected
+      (expected ? 1 : 0) * swaggerSpringMvcPlugin.initialize()
+
+    where:
+      swaggerGroup | expected
+      "orders"     | true
+      "unknown"    | false
+  }
+
+  def "plugins are all built before being initialized in parallel"() {
+    given:
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      ApplicationContext applicationContext = Mock()
+      def events = Collections.synchronizedList([])
+      def barrier = new CyclicBarrier(3)
+      def plugins = (1..3).collectEntries { ["plugin$it".toString(), new BarrierPlugin(springSwaggerConfig, barrier, events)] }
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> plugins
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.pluginParallelism = 3
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      events.take(3) == ["built"] * 3
+      events.drop(3) == ["initialized"] * 3
+      swaggerPluginAdapter.documentationReady
+  }
+
+  def "swagger groups are listed in plugin order when the plugins complete out of order"() {
+    given:
+      SwaggerCache swaggerCache = new SwaggerCache()
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      springSwaggerConfig.swaggerCache() >> swaggerCache
+      ApplicationContext applicationContext = Mock()
+      def secondPublished = new CountDownLatch(1)
+      def plugins = new LinkedHashMap()
+      plugins['first'] = new PublishingPlugin(springSwaggerConfig, "first", swaggerCache, secondPublished, null)
+      plugins['second'] = new PublishingPlugin(springSwaggerConfig, "second", swaggerCache, null, secondPublished)
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >> plugins
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.pluginParallelism = 2
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      swaggerCache.swaggerGroups.keySet() as List == ["first", "second"]
+      swaggerCache.defaultSwaggerGroup.is(swaggerCache.getSwaggerGroup("first"))
+  }
+
+  def "a failed parallel initialization is rethrown"() {
+    given:
+      SpringSwaggerConfig springSwaggerConfig = Stub()
+      ApplicationContext applicationContext = Mock()
+      SwaggerSpringMvcPlugin failing = Mock(SwaggerSpringMvcPlugin)
+      failing.initialize() >> { throw new IllegalStateException("scan failed") }
+      applicationContext.getBeansOfType(SwaggerSpringMvcPlugin.class) >>
+              ['ok': Mock(SwaggerSpringMvcPlugin), 'failing': failing]
+
+      SwaggerPluginAdapter swaggerPluginAdapter = new SwaggerPluginAdapter(springSwaggerConfig)
+      swaggerPluginAdapter.pluginParallelism = 2
+
+    when:
+      swaggerPluginAdapter.onApplicationEvent(new ContextRefreshedEvent(applicationContext))
+
+    then:
+      def e = thrown IllegalStateException
+      e.message == "scan failed"
+      !swaggerPluginAdapter.documentationReady
+  }
+}
+
+/**
+ * Each initialization waits for the other plugins' initializations, so they only complete when run concurrently
+ */
+class BarrierPlugin extends SwaggerSpringMvcPlugin {
+  private final CyclicBarrier barrier
+  private final List events
+
+  BarrierPlugin(SpringSwaggerConfig springSwaggerConfig, CyclicBarrier barrier, List events) {
+    super(springSwaggerConfig)
+    this.barrier = barrier
+    this.events = events
+  }
+
+  @Override
+  SwaggerSpringMvcPlugin build() {
+    events << "built"
+    this
+  }
+
+  @Override
+  protected void initialize() {
+    barrier.await(10, TimeUnit.SECONDS)
+    events << "initialized"
+  }
+}
+
+/**
+ * Publishes its swagger group once the latch it waits for, if any, is released, then releases the latch it signals
+ */
+class PublishingPlugin extends SwaggerSpringMvcPlugin {
+  private final String swaggerGroup
+  private final SwaggerCache swaggerCache
+  private final CountDownLatch awaited
+  private final CountDownLatch signalled
+
+  PublishingPlugin(SpringSwaggerConfig springSwaggerConfig, String swaggerGroup, SwaggerCache swaggerCache,
+                   CountDownLatch awaited, CountDownLatch signalled) {
+    super(springSwaggerConfig)
+    this.swaggerGroup = swaggerGroup
+    this.swaggerCache = swaggerCache
+    this.awaited = awaited
+    this.signalled = signalled
+  }
+
+  @Override
+  SwaggerSpringMvcPlugin build() {
+    this
+  }
+
+  @Override
+  protected String getSwaggerGroup() {
+    swaggerGroup
+  }
+
+  @Override
+  protected void initialize() {
+    awaited?.await(10, TimeUnit.SECONDS)
+    swaggerCache.addSwaggerGroup(swaggerGroup, new ResourceListing("1.0", "1.2", toScalaList([]), toScalaList([]),
+            toOption(null)), [:])
+    signalled?.countDown()
+  }
 }
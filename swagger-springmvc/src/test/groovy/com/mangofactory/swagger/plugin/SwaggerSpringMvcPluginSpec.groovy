@@ -191,5 +191,28 @@ class SwaggerSpringMvcPluginSpec extends Specification {
       apiListingReferenceScanner.includePatterns == plugin.includePatterns
   }
 
+  @Unroll
+  def "the configuration fingerprint changes with #configuration"() {
+    given:
+      def configured = new SwaggerSpringMvcPlugin(springSwaggerConfig())
+      configure.call(configured)
+
+    expect:
+      new SwaggerSpringMvcPlugin(springSwaggerConfig()).configurationFingerprint ==
+              new SwaggerSpringMvcPlugin(springSwaggerConfig()).configurationFingerprint
+      configured.configurationFingerprint != plugin.configurationFingerprint
+
+    where:
+      configuration             | configure
+      "the swagger group"       | { it.swaggerGroup("orders") }
+      "the include patterns"    | { it.includePatterns("/orders.*") }
+      "the alternate types"     | { it.directModelSubstitute(LocalDate, Date) }
+      "the ignored types"       | { it.ignoredParameterTypes(LocalDate) }
+      "the api info"            | { it.apiInfo(new ApiInfo("orders", "", "", "", "", "")) }
+      "the response messages"   | { it.globalResponseMessage(GET, [new ResponseMessage(404, "gone", toOption(null))]) }
+      "the exclude annotations" | { it.excludeAnnotations(Deprecated) }
+      "lazy api listings"       | { it.lazyApiListings(true) }
+  }
+
 
 }
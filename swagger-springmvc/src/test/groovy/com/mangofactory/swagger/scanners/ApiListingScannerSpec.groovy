@@ -7,6 +7,7 @@ import com.mangofactory.swagger.configuration.SwaggerGlobalSettings
 import com.mangofactory.swagger.mixins.*
 import com.mangofactory.swagger.models.configuration.SwaggerModelsConfiguration
 import com.wordnik.swagger.core.SwaggerSpec
+import com.wordnik.swagger.core.util.JsonSerializer
 import com.wordnik.swagger.model.ApiDescription
 import com.wordnik.swagger.model.ApiListing
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo
@@ -14,6 +15,7 @@ import spock.lang.Specification
 import spock.lang.Unroll
 
 import static com.google.common.collect.Maps.newHashMap
+import static com.google.common.collect.Maps.newLinkedHashMap
 import static com.mangofactory.swagger.ScalaUtils.fromOption
 import static com.mangofactory.swagger.ScalaUtils.fromScalaList
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE
@@ -94,6 +96,60 @@ class ApiListingScannerSpec extends Specification {
       listing.authorizations().size() == 1
   }
 
+  def "a single resource group is scanned on demand with the position a full scan gives it"() {
+    given:
+      Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings = newLinkedHashMap()
+      resourceGroupRequestMappings.put(new ResourceGroup("businesses"),
+              [new RequestMappingContext(requestMappingInfo('/businesses'), dummyHandlerMethod("methodWithConcreteResponseBody"))])
+      resourceGroupRequestMappings.put(new ResourceGroup("accounts"),
+              [new RequestMappingContext(requestMappingInfo('/accounts'), dummyHandlerMethod("methodWithConcreteResponseBody"))])
+      ApiListingScanner scanner = new ApiListingScanner(resourceGroupRequestMappings, absoluteSwaggerPathProvider(),
+              modelProvider(), null, [])
+      def settings = new SwaggerGlobalSettings()
+      settings.ignorableParameterTypes = new SpringSwaggerConfig().defaultIgnorableParameterTypes()
+      settings.alternateTypeProvider = new SwaggerModelsConfiguration().alternateTypeProvider(new TypeResolver())
+      scanner.setSwaggerGlobalSettings(settings)
+
+    when:
+      ApiListing listing = scanner.load("accounts")
+
+    then:
+      listing.position() == scanner.scan()['accounts'].position()
+      listing.resourcePath() == "/api/v1/accounts"
+      scanner.load("unknown") == null
+  }
+
+  def "resource groups scanned in parallel produce the same api listings as a serial scan"() {
+    given:
+      def shared = new RequestMappingContext(requestMappingInfo('/shared'), dummyHandlerMethod("methodWithGenericType"))
+      Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings = newLinkedHashMap()
+      ["methodWithConcreteResponseBody", "methodWithAPiAnnotationButWithoutResponseClass", "methodWithDeprecated", "methodWithPosition"]
+              .eachWithIndex { String method, int index ->
+        resourceGroupRequestMappings.put(new ResourceGroup("group$index"),
+                [new RequestMappingContext(requestMappingInfo("/group$index"), dummyHandlerMethod(method)), shared])
+      }
+
+    when:
+      Map<String, ApiListing> serial = scanner(resourceGroupRequestMappings, 1).scan()
+      Map<String, ApiListing> parallel = scanner(resourceGroupRequestMappings, 4).scan()
+
+    then:
+      parallel.keySet() == serial.keySet()
+      serial.keySet().every { JsonSerializer.asJson(parallel[it]) == JsonSerializer.asJson(serial[it]) }
+  }
+
+  private ApiListingScanner scanner(Map<ResourceGroup, List<RequestMappingContext>> resourceGroupRequestMappings,
+                                    int scanParallelism) {
+    ApiListingScanner scanner = new ApiListingScanner(resourceGroupRequestMappings, absoluteSwaggerPathProvider(),
+            modelProvider(), null, [])
+    def settings = new SwaggerGlobalSettings()
+    settings.ignorableParameterTypes = new SpringSwaggerConfig().defaultIgnorableParameterTypes()
+    settings.alternateTypeProvider = new SwaggerModelsConfiguration().alternateTypeProvider(new TypeResolver())
+    scanner.setSwaggerGlobalSettings(settings)
+    scanner.setScanParallelism(scanParallelism)
+    scanner
+  }
+
   @Unroll
   def "should find longest common path"() {
     given:
@@ -0,0 +1,33 @@
+package com.mangofactory.swagger.scanners
+
+import com.mangofactory.swagger.mixins.RequestMappingSupport
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping
+import spock.lang.Specification
+
+@Mixin(RequestMappingSupport)
+class HandlerMappingFingerprintSpec extends Specification {
+
+  def "the fingerprint changes with the request mappings, the application base path and the plugin configurations"() {
+    given:
+      def businesses = handlerMapping([(requestMappingInfo('/businesses')): dummyHandlerMethod()])
+      def accounts = handlerMapping([(requestMappingInfo('/accounts')): dummyHandlerMethod()])
+
+    expect:
+      HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin"]) ==
+              HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin"])
+      HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin"]) !=
+              HandlerMappingFingerprint.fingerprint([accounts], "/context", ["plugin"])
+      HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin"]) !=
+              HandlerMappingFingerprint.fingerprint([businesses], "/other", ["plugin"])
+      HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin"]) !=
+              HandlerMappingFingerprint.fingerprint([businesses], "/context", ["other plugin"])
+      HandlerMappingFingerprint.fingerprint([businesses], "/context", ["plugin", "other plugin"]) ==
+              HandlerMappingFingerprint.fingerprint([businesses], "/context", ["other plugin", "plugin"])
+  }
+
+  def handlerMapping(Map handlerMethods) {
+    RequestMappingHandlerMapping handlerMapping = Mock(RequestMappingHandlerMapping)
+    handlerMapping.getHandlerMethods() >> handlerMethods
+    handlerMapping
+  }
+}